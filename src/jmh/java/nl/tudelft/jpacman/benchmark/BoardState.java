@@ -0,0 +1,186 @@
+package nl.tudelft.jpacman.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.PointCalculator;
+import nl.tudelft.jpacman.points.PointCalculatorLoader;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A level parsed from one of the benchmark {@link Maps}, with a registered
+ * player. The NPCs are driven by a virtual scheduler that is never advanced,
+ * so only the benchmarks change the level.
+ *
+ * @author Jeroen Roosen
+ */
+@State(Scope.Benchmark)
+public class BoardState {
+
+    /**
+     * The name of the map to benchmark on.
+     */
+    @Param({"skyboard", "forest", "caveboard", "iceboard", "lavaboard",
+        "generated-100", "generated-500", "generated-1000"})
+    private String map;
+
+    /**
+     * The sprites handed to all factories.
+     */
+    private final PacManSprites sprites = new HeadlessSprites();
+
+    /**
+     * The text of the map.
+     */
+    private List<String> lines;
+
+    /**
+     * The parser creating levels from the map.
+     */
+    private MapParser parser;
+
+    /**
+     * The factory creating boards.
+     */
+    private BoardFactory boardFactory;
+
+    /**
+     * The point calculator of the levels.
+     */
+    private PointCalculator pointCalculator;
+
+    /**
+     * The level parsed from the map.
+     */
+    private Level level;
+
+    /**
+     * The player on the level.
+     */
+    private Player player;
+
+    /**
+     * A ghost on the level.
+     */
+    private Ghost ghost;
+
+    /**
+     * Parses the map and registers a player on the level.
+     *
+     * @throws IOException
+     *             When the map could not be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        lines = Maps.lines(map);
+        pointCalculator = new PointCalculatorLoader().load();
+        boardFactory = new BoardFactory(sprites);
+        parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites),
+            pointCalculator, new VirtualNpcScheduler()), boardFactory);
+        level = parser.parseMap(lines);
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        ghost = level.getBoard().findUnit(Ghost.class);
+    }
+
+    /**
+     * @return The text of the map.
+     */
+    List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * @return The parser creating levels from the map.
+     */
+    MapParser getParser() {
+        return parser;
+    }
+
+    /**
+     * @return The factory creating boards.
+     */
+    BoardFactory getBoardFactory() {
+        return boardFactory;
+    }
+
+    /**
+     * @return The point calculator of the levels.
+     */
+    PointCalculator getPointCalculator() {
+        return pointCalculator;
+    }
+
+    /**
+     * @return The level parsed from the map.
+     */
+    Level getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The board of the level.
+     */
+    Board getBoard() {
+        return level.getBoard();
+    }
+
+    /**
+     * @return The player on the level.
+     */
+    Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return A ghost on the level.
+     */
+    Ghost getGhost() {
+        return ghost;
+    }
+
+    /**
+     * @return The sprites handed to all factories.
+     */
+    PacManSprites getSprites() {
+        return sprites;
+    }
+
+    /**
+     * Creates a new, unlinked grid of squares for the map.
+     *
+     * @return The grid, with grid[x][y] being the square at x,y.
+     */
+    Square[][] createGrid() {
+        int width = lines.get(0).length();
+        int height = lines.size();
+        Square[][] grid = new Square[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (lines.get(y).charAt(x) == '#') {
+                    grid[x][y] = boardFactory.createWall();
+                } else {
+                    grid[x][y] = boardFactory.createGround();
+                }
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,153 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.DefaultPlayerInteractionMap;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.PlayerCollisionMatrix;
+import nl.tudelft.jpacman.level.PlayerCollisions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of handling collisions, with the hand written
+ * {@link PlayerCollisions}, the table driven
+ * {@link DefaultPlayerInteractionMap} and the type id dispatched
+ * {@link PlayerCollisionMatrix}. The player is revived before every ghost
+ * catching it, so that every collision has the same effect.
+ *
+ * @author Jeroen Roosen
+ */
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+
+    /**
+     * The hand written collisions.
+     */
+    private CollisionMap playerCollisions;
+
+    /**
+     * The table driven collisions.
+     */
+    private CollisionMap interactionMap;
+
+    /**
+     * The collisions dispatched on type ids.
+     */
+    private CollisionMap collisionMatrix;
+
+    /**
+     * A pellet that is not on the board.
+     */
+    private Pellet pellet;
+
+    /**
+     * Creates the collision maps.
+     *
+     * @param state
+     *            The level providing the units.
+     */
+    @Setup
+    public void setUp(BoardState state) {
+        playerCollisions = new PlayerCollisions(state.getPointCalculator());
+        interactionMap = new DefaultPlayerInteractionMap(state.getPointCalculator());
+        collisionMatrix = new PlayerCollisionMatrix(state.getPointCalculator());
+        pellet = new Pellet(0, state.getSprites().getPelletSprite());
+    }
+
+    /**
+     * Measures a ghost catching the player with {@link PlayerCollisions}.
+     *
+     * @param state
+     *            The level providing the units.
+     * @param live
+     *            Revives the player before the collision.
+     */
+    @Benchmark
+    public void playerCollisionsGhostOnPlayer(BoardState state, LivePlayer live) {
+        playerCollisions.collide(state.getGhost(), state.getPlayer());
+    }
+
+    /**
+     * Measures a collision without effect with {@link PlayerCollisions}.
+     *
+     * @param state
+     *            The level providing the units.
+     */
+    @Benchmark
+    public void playerCollisionsGhostOnPellet(BoardState state) {
+        playerCollisions.collide(state.getGhost(), pellet);
+    }
+
+    /**
+     * Measures a ghost catching the player with the interaction map.
+     *
+     * @param state
+     *            The level providing the units.
+     * @param live
+     *            Revives the player before the collision.
+     */
+    @Benchmark
+    public void interactionMapGhostOnPlayer(BoardState state, LivePlayer live) {
+        interactionMap.collide(state.getGhost(), state.getPlayer());
+    }
+
+    /**
+     * Measures a collision without effect with the interaction map.
+     *
+     * @param state
+     *            The level providing the units.
+     */
+    @Benchmark
+    public void interactionMapGhostOnPellet(BoardState state) {
+        interactionMap.collide(state.getGhost(), pellet);
+    }
+
+    /**
+     * Measures a ghost catching the player with the collision matrix.
+     *
+     * @param state
+     *            The level providing the units.
+     * @param live
+     *            Revives the player before the collision.
+     */
+    @Benchmark
+    public void collisionMatrixGhostOnPlayer(BoardState state, LivePlayer live) {
+        collisionMatrix.collide(state.getGhost(), state.getPlayer());
+    }
+
+    /**
+     * Measures a collision without effect with the collision matrix.
+     *
+     * @param state
+     *            The level providing the units.
+     */
+    @Benchmark
+    public void collisionMatrixGhostOnPellet(BoardState state) {
+        collisionMatrix.collide(state.getGhost(), pellet);
+    }
+
+    /**
+     * Revives the player of the level before every invocation, so that a
+     * ghost catching it kills a living player every time.
+     *
+     * @author Jeroen Roosen
+     */
+    @State(Scope.Thread)
+    public static class LivePlayer {
+
+        /**
+         * Revives the player, which also clears its killer.
+         *
+         * @param state
+         *            The level providing the player.
+         */
+        @Setup(Level.Invocation)
+        public void revive(BoardState state) {
+            state.getPlayer().setAlive(true);
+        }
+    }
+}
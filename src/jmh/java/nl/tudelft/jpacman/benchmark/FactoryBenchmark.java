@@ -0,0 +1,60 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of creating levels and boards.
+ *
+ * @author Jeroen Roosen
+ */
+@State(Scope.Thread)
+public class FactoryBenchmark {
+
+    /**
+     * A fresh grid of squares, as boards take ownership of their squares.
+     */
+    private Square[][] grid;
+
+    /**
+     * Creates a fresh grid for every invocation of {@link #createBoard}.
+     *
+     * @param state
+     *            The map to create a grid for.
+     */
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void createGrid(BoardState state) {
+        grid = state.createGrid();
+    }
+
+    /**
+     * Measures parsing the map into a level.
+     *
+     * @param state
+     *            The map to parse.
+     * @return The level parsed.
+     */
+    @Benchmark
+    public Level parseMap(BoardState state) {
+        return state.getParser().parseMap(state.getLines());
+    }
+
+    /**
+     * Measures linking a grid into a board, including its distance table
+     * if the board is small enough to get one.
+     *
+     * @param state
+     *            The map to create a board for.
+     * @return The board created.
+     */
+    @Benchmark
+    public Board createBoard(BoardState state) {
+        return state.getBoardFactory().createBoard(grid);
+    }
+}
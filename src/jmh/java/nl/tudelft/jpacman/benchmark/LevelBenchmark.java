@@ -0,0 +1,80 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of playing a {@link Level}. The player walks back and forth
+ * between two squares, so after the first two moves no more pellets are
+ * eaten.
+ *
+ * @author Jeroen Roosen
+ */
+@State(Scope.Benchmark)
+public class LevelBenchmark {
+
+    /**
+     * The direction the player walks in first.
+     */
+    private Direction forth;
+
+    /**
+     * The direction the player walks back in.
+     */
+    private Direction back;
+
+    /**
+     * Starts the level and picks the directions to walk in.
+     *
+     * @param state
+     *            The level to play.
+     */
+    @Setup
+    public void setUp(BoardState state) {
+        Player player = state.getPlayer();
+        for (Direction direction : Direction.values()) {
+            if (player.getSquare().getSquareAt(direction).isAccessibleTo(player)) {
+                forth = direction;
+            }
+        }
+        assert forth != null;
+        for (Direction direction : Direction.values()) {
+            if (direction.getDeltaX() == -forth.getDeltaX()
+                && direction.getDeltaY() == -forth.getDeltaY()) {
+                back = direction;
+            }
+        }
+        state.getLevel().start();
+    }
+
+    /**
+     * Measures a move of the player there and back.
+     *
+     * @param state
+     *            The level to play.
+     */
+    @Benchmark
+    public void move(BoardState state) {
+        Level level = state.getLevel();
+        level.move(state.getPlayer(), forth);
+        level.move(state.getPlayer(), back);
+    }
+
+    /**
+     * Measures counting the remaining pellets.
+     *
+     * @param state
+     *            The level to play.
+     * @return The number of pellets remaining.
+     */
+    @Benchmark
+    public int remainingPellets(BoardState state) {
+        return state.getLevel().remainingPellets();
+    }
+}
@@ -0,0 +1,97 @@
+package nl.tudelft.jpacman.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The maps the benchmarks are parameterised over: the five bundled boards,
+ * named after their resource, and generated boards named
+ * <code>generated-N</code>, which are N by N squares.
+ *
+ * @author Jeroen Roosen
+ */
+final class Maps {
+
+    /**
+     * The prefix of the names of generated maps.
+     */
+    private static final String GENERATED = "generated-";
+
+    private Maps() {
+    }
+
+    /**
+     * Returns the text of a map, as accepted by the map parser.
+     *
+     * @param name
+     *            The name of the map.
+     * @return The rows of the map.
+     * @throws IOException
+     *             When a bundled map could not be read.
+     */
+    static List<String> lines(String name) throws IOException {
+        if (name.startsWith(GENERATED)) {
+            return generate(Integer.parseInt(name.substring(GENERATED.length())));
+        }
+        String resource = "/" + name + ".txt";
+        try (InputStream input = Maps.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Unable to load " + resource + ", resource does not exist.");
+            }
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Generates a square map surrounded by walls, with a wall on every square
+     * of which both coordinates are even and a pellet on all other squares.
+     * The player starts in the top left corner and three ghosts start in the
+     * other corners.
+     *
+     * @param size
+     *            The width and height of the map.
+     * @return The rows of the map.
+     */
+    private static List<String> generate(int size) {
+        assert size >= 5;
+
+        int last = size - 3;
+        if (size % 2 == 1) {
+            last = size - 2;
+        }
+        List<String> lines = new ArrayList<>(size);
+        for (int y = 0; y < size; y++) {
+            StringBuilder row = new StringBuilder(size);
+            for (int x = 0; x < size; x++) {
+                row.append(squareAt(x, y, size, last));
+            }
+            lines.add(row.toString());
+        }
+        return lines;
+    }
+
+    private static char squareAt(int x, int y, int size, int last) {
+        if (x == 0 || y == 0 || x == size - 1 || y == size - 1 || x % 2 == 0 && y % 2 == 0) {
+            return '#';
+        }
+        if (x == 1 && y == 1) {
+            return 'P';
+        }
+        if ((x == 1 || x == last) && (y == 1 || y == last)) {
+            return 'G';
+        }
+        return '.';
+    }
+}
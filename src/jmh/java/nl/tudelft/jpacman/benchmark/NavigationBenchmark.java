@@ -0,0 +1,57 @@
+package nl.tudelft.jpacman.benchmark;
+
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.ghost.Navigation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks of the searches in {@link Navigation}.
+ *
+ * @author Jeroen Roosen
+ */
+public class NavigationBenchmark {
+
+    /**
+     * Measures the path of a ghost to the player.
+     *
+     * @param state
+     *            The level to search on.
+     * @return The path found.
+     */
+    @Benchmark
+    public List<Direction> shortestPath(BoardState state) {
+        return Navigation.shortestPath(state.getGhost().getSquare(),
+            state.getPlayer().getSquare(), state.getGhost());
+    }
+
+    /**
+     * Measures finding the player from a ghost.
+     *
+     * @param state
+     *            The level to search on.
+     * @return The player found.
+     */
+    @Benchmark
+    public Unit findNearestPlayer(BoardState state) {
+        return Navigation.findNearest(Player.class, state.getGhost().getSquare());
+    }
+
+    /**
+     * Measures finding the pellet nearest to a ghost, of which there are
+     * many.
+     *
+     * @param state
+     *            The level to search on.
+     * @return The pellet found.
+     */
+    @Benchmark
+    public Unit findNearestPellet(BoardState state) {
+        return Navigation.findNearest(Pellet.class, state.getGhost().getSquare());
+    }
+}
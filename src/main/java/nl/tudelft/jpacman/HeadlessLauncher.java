@@ -0,0 +1,138 @@
+package nl.tudelft.jpacman;
+
+import java.util.concurrent.Executor;
+
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.NpcScheduler;
+import nl.tudelft.jpacman.level.SharedNpcScheduler;
+import nl.tudelft.jpacman.points.PointCalculatorLoader;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Creates and runs JPacMan games without a user interface. All factories get
+ * {@link HeadlessSprites}, so no images are decoded and neither Swing nor AWT
+ * is initialised. Winning or losing a level simply stops the game.
+ *
+ * @author Jeroen Roosen
+ */
+public class HeadlessLauncher extends Launcher {
+
+    /**
+     * The delay in milliseconds between checks whether the game is over.
+     */
+    private static final int POLL_INTERVAL = 100;
+
+    /**
+     * The sprites handed to all factories.
+     */
+    private final PacManSprites sprites = new HeadlessSprites();
+
+    /**
+     * The scheduler driving the NPCs of the levels created.
+     */
+    private NpcScheduler npcScheduler = SharedNpcScheduler.getInstance();
+
+    /**
+     * The executor the levels created apply their moves on, or
+     * <code>null</code> if they apply every move right away.
+     */
+    private Executor moveExecutor;
+
+    /**
+     * Sets the scheduler driving the NPCs of the levels created from now on,
+     * e.g. a {@link nl.tudelft.jpacman.level.VirtualNpcScheduler} to run games
+     * in a {@link nl.tudelft.jpacman.level.LevelSimulator}.
+     *
+     * @param scheduler
+     *            The scheduler to use.
+     * @return This launcher.
+     */
+    public HeadlessLauncher withNpcScheduler(NpcScheduler scheduler) {
+        assert scheduler != null;
+        npcScheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Makes the levels created from now on apply their moves on the given
+     * executor, see {@link Level#queueMoves(Executor)}.
+     *
+     * @param executor
+     *            The executor to apply the moves on, or <code>null</code> to
+     *            have the levels apply every move right away.
+     * @return This launcher.
+     */
+    public HeadlessLauncher withMoveExecutor(Executor executor) {
+        moveExecutor = executor;
+        return this;
+    }
+
+    /**
+     * @return The {@link HeadlessSprites} of this launcher.
+     */
+    @Override
+    protected PacManSprites getSpriteStore() {
+        return sprites;
+    }
+
+    /**
+     * @return A new factory using the sprites from {@link #getSpriteStore()},
+     *         the ghosts from {@link #getGhostFactory()}, the scheduler set
+     *         with {@link #withNpcScheduler(NpcScheduler)} and random numbers
+     *         split from {@link #getRandomService()}.
+     */
+    @Override
+    protected LevelFactory getLevelFactory() {
+        return new LevelFactory(getSpriteStore(), getGhostFactory(),
+            new PointCalculatorLoader().load(), npcScheduler, getRandomService().split());
+    }
+
+    /**
+     * @return A new level, queueing its moves on the executor set with
+     *         {@link #withMoveExecutor(Executor)}, if any.
+     */
+    @Override
+    public Level makeLevel() {
+        Level level = super.makeLevel();
+        if (moveExecutor != null) {
+            level.queueMoves(moveExecutor);
+        }
+        return level;
+    }
+
+    /**
+     * Creates and starts a game on the configured map.
+     */
+    @Override
+    public void launch() {
+        makeGame().start();
+    }
+
+    /**
+     * Stops the game, if one was launched.
+     */
+    @Override
+    public void dispose() {
+        if (getGame() != null) {
+            getGame().stop();
+        }
+    }
+
+    /**
+     * Main execution method for the headless launcher, which returns once the
+     * game is over.
+     *
+     * @param args
+     *             The command line arguments - which are ignored.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        HeadlessLauncher launcher = new HeadlessLauncher();
+        launcher.launch();
+        while (launcher.getGame().isInProgress()) {
+            launcher.delay(POLL_INTERVAL);
+        }
+    }
+}
@@ -8,11 +8,13 @@ import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
+import nl.tudelft.jpacman.game.InputBuffer;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.LevelFactory;
 import nl.tudelft.jpacman.level.MapParser;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.SharedNpcScheduler;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.points.PointCalculator;
 import nl.tudelft.jpacman.points.PointCalculatorLoader;
@@ -37,6 +39,16 @@ public class Launcher {
     private PacManUI pacManUI;
     private Game game;
 
+    /**
+     * The random numbers split among the levels created.
+     */
+    private RandomService random = new RandomService();
+
+    /**
+     * The buffer between the keys pressed and the moves of the player.
+     */
+    private final InputBuffer input = new InputBuffer(this::getGame);
+
     /**
      * @return The game object this launcher will start when {@link #launch()}
      *         is called.
@@ -125,14 +137,37 @@ public class Launcher {
      *         and the ghosts from {@link #getGhostFactory()}.
      */
     protected LevelFactory getLevelFactory() {
-        return new LevelFactory(getSpriteStore(), getGhostFactory(), loadPointCalculator());
+        return new LevelFactory(getSpriteStore(), getGhostFactory(), loadPointCalculator(),
+            SharedNpcScheduler.getInstance(), getRandomService().split());
     }
 
     /**
-     * @return A new factory using the sprites from {@link #getSpriteStore()}.
+     * @return A new factory using the sprites from {@link #getSpriteStore()}
+     *         and random numbers split from {@link #getRandomService()}.
      */
     protected GhostFactory getGhostFactory() {
-        return new GhostFactory(getSpriteStore());
+        return new GhostFactory(getSpriteStore(), getRandomService().split());
+    }
+
+    /**
+     * @return The random numbers the levels of this launcher are given a
+     *         split of.
+     */
+    protected RandomService getRandomService() {
+        return random;
+    }
+
+    /**
+     * Seeds the random numbers of the levels created from now on, so that they
+     * make the same random choices every time.
+     *
+     * @param seed
+     *            The seed of the random numbers.
+     * @return This launcher.
+     */
+    public Launcher withSeed(long seed) {
+        random = new RandomService(seed);
+        return this;
     }
 
     /**
@@ -165,10 +200,18 @@ public class Launcher {
     private Action moveTowardsDirection(Direction direction) {
         return () -> {
             assert game != null;
-            getGame().move(getSinglePlayer(getGame()), direction);
+            input.offer(getSinglePlayer(getGame()), direction);
         };
     }
 
+    /**
+     * @return The buffer through which the keys pressed move the player,
+     *         which also measures the latency of the moves.
+     */
+    public InputBuffer getInputBuffer() {
+        return input;
+    }
+
     private Player getSinglePlayer(final Game game) {
         List<Player> players = game.getPlayers();
         if (players.isEmpty()) {
@@ -259,6 +302,7 @@ public class Launcher {
         addSinglePlayerKeys(builder);
         pacManUI = builder.build(getGame(),"src/main/resources/sprite/BGsky.png");
         pacManUI.start();
+        input.start(SharedNpcScheduler.getInstance());
     }
 
     public void setlaunchGame() {
@@ -272,6 +316,7 @@ public class Launcher {
      */
     public void dispose() {
         assert pacManUI != null;
+        input.stop();
         pacManUI.dispose();
     }
     public PacManUI getPacManUItest(){
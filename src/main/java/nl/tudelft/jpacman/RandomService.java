@@ -0,0 +1,78 @@
+package nl.tudelft.jpacman;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of the random numbers of a game. A service is split into independent
+ * services for every level and every unit that needs random numbers, so no
+ * random state is shared between threads, and a game started from a seeded
+ * service makes the same random choices every time it is played in the same
+ * order.
+ *
+ * <p>
+ * A service is not thread-safe: it must be used by one thread at a time, such
+ * as the successive runs of the move task of a single ghost.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public final class RandomService {
+
+    /**
+     * The generator of this service.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Creates a new service with an unpredictable seed.
+     */
+    public RandomService() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a new service that produces the same numbers for the same seed.
+     *
+     * @param seed
+     *            The seed of the service.
+     */
+    public RandomService(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private RandomService(SplittableRandom generator) {
+        this.random = generator;
+    }
+
+    /**
+     * Creates a new service, independent from this one, to hand out to a
+     * level or unit.
+     *
+     * @return A new service, seeded from this one.
+     */
+    public synchronized RandomService split() {
+        return new RandomService(random.split());
+    }
+
+    /**
+     * Returns a random number between zero (inclusive) and the given bound
+     * (exclusive).
+     *
+     * @param bound
+     *            The upper bound, which must be positive.
+     * @return The random number.
+     */
+    public int nextInt(int bound) {
+        assert bound > 0;
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Returns a random long, e.g. to seed another generator with.
+     *
+     * @return The random number.
+     */
+    public long nextLong() {
+        return random.nextLong();
+    }
+}
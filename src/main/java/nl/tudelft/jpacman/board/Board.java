@@ -1,5 +1,10 @@
 package nl.tudelft.jpacman.board;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
 
 /**
  * A top-down view of a matrix of {@link Square}s.
@@ -13,6 +18,28 @@ public class Board {
      */
     private final Square[][] board;
 
+    /**
+     * The listeners that are notified of units occupying or leaving squares.
+     */
+    private final List<OccupantListener> occupantListeners;
+
+    /**
+     * The units on this board, indexed by type.
+     */
+    private final UnitRegistry units;
+
+    /**
+     * Supplies the table of distances between squares, building it on first
+     * use, or supplies <code>null</code> if there is none for this board.
+     */
+    private Supplier<DistanceOracle> distanceOracle = () -> null;
+
+    /**
+     * <code>true</code> iff every square of this board is either accessible to
+     * all units or to none.
+     */
+    private boolean staticTerrain;
+
     /**
      * Creates a new board.
      *
@@ -24,7 +51,16 @@ public class Board {
     Board(Square[][] grid) {
         assert grid != null;
         this.board = grid;
+        this.occupantListeners = new CopyOnWriteArrayList<>();
+        this.units = new UnitRegistry();
         assert invariant() : "Initial grid cannot contain null squares";
+        for (int x = 0; x < getWidth(); x++) {
+            for (int y = 0; y < getHeight(); y++) {
+                Square square = board[x][y];
+                square.setBoard(this, indexOf(x, y));
+                square.forEachOccupant(units::add);
+            }
+        }
     }
 
     /**
@@ -79,6 +115,47 @@ public class Board {
         return result;
     }
 
+    /**
+     * Returns the number of squares on this board.
+     *
+     * @return The width times the height of this board.
+     */
+    public int getSquareCount() {
+        return getWidth() * getHeight();
+    }
+
+    /**
+     * Returns the index of the square at the given <code>x,y</code> position,
+     * as returned by {@link Square#getIndex()}.
+     *
+     * Precondition: The <code>(x, y)</code> coordinates are within the
+     * width and height of the board.
+     *
+     * @param x
+     *            The <code>x</code> position (column) of the square.
+     * @param y
+     *            The <code>y</code> position (row) of the square.
+     * @return The index of the square at the given position.
+     */
+    public int indexOf(int x, int y) {
+        assert withinBorders(x, y);
+        return x * getHeight() + y;
+    }
+
+    /**
+     * Returns the square with the given index.
+     *
+     * Precondition: <code>0 &lt;= index &lt; getSquareCount()</code>.
+     *
+     * @param index
+     *            The index of the requested square, see
+     *            {@link Square#getIndex()}.
+     * @return The square with the given index (never null).
+     */
+    public Square squareAt(int index) {
+        return squareAt(index / getHeight(), index % getHeight());
+    }
+
     /**
      * Determines whether the given <code>x,y</code> position is on this board.
      *
@@ -91,4 +168,182 @@ public class Board {
     public boolean withinBorders(int x, int y) {
         return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
     }
+
+    /**
+     * Returns whether the terrain of this board is static, i.e. whether every
+     * square is either accessible to all units or to none. On such boards the
+     * walking distance between two squares is the same for every unit, and
+     * the same in both directions.
+     *
+     * @return <code>true</code> iff the terrain of this board is static.
+     */
+    public boolean hasStaticTerrain() {
+        return staticTerrain;
+    }
+
+    /**
+     * Marks whether the terrain of this board is static.
+     *
+     * @param isStatic
+     *            <code>true</code> iff every square is either accessible to all
+     *            units or to none.
+     */
+    void setStaticTerrain(boolean isStatic) {
+        this.staticTerrain = isStatic;
+    }
+
+    /**
+     * Returns the table of walking distances between the squares of this
+     * board. Such a table is only available for boards whose squares are
+     * either accessible to all units or to none, and that are not too large.
+     * The table is built by the first call, so boards that are never searched
+     * do not pay for it.
+     *
+     * @return The distance table of this board, or <code>null</code> if
+     *         distances have to be searched for.
+     */
+    public DistanceOracle getDistanceOracle() {
+        return distanceOracle.get();
+    }
+
+    /**
+     * Sets how to build the table of walking distances between the squares
+     * of this board. The table is built once, when it is first asked for.
+     *
+     * @param oracle
+     *            Builds the distance table, or returns <code>null</code> if
+     *            the board has none.
+     */
+    void setDistanceOracle(Supplier<DistanceOracle> oracle) {
+        this.distanceOracle = Suppliers.memoize(oracle::get);
+    }
+
+    /**
+     * Returns a unit of the given type on this board, without searching the
+     * squares.
+     *
+     * @param type
+     *            The type of unit to find.
+     * @param <T>
+     *            The type of unit searched for.
+     * @return The first unit of the given type listed by
+     *         {@link #findUnits(Class)}, or <code>null</code> if there is no
+     *         such unit. This is the unit of the type placed first only if all
+     *         units of the type share the same concrete class, and it need not
+     *         be the unit on the first square.
+     */
+    public <T extends Unit> T findUnit(Class<T> type) {
+        return units.first(type);
+    }
+
+    /**
+     * Returns all units of the given type on this board, without searching the
+     * squares.
+     *
+     * @param type
+     *            The type of unit to find.
+     * @param <T>
+     *            The type of unit searched for.
+     * @return A new list with the units of the given type. Units of the same
+     *         concrete class are listed in the order in which they were placed
+     *         on this board, and units of different concrete classes grouped
+     *         per class, in the order in which each class first appeared.
+     */
+    public <T extends Unit> List<T> findUnits(Class<T> type) {
+        return units.all(type);
+    }
+
+    /**
+     * Returns all units on this board that are not of the given type, without
+     * searching the squares or visiting the units of that type.
+     *
+     * @param excluded
+     *            The type of unit to leave out.
+     * @return A new list with the units not of the given type, in the order
+     *         described for {@link #findUnits(Class)}.
+     */
+    public List<Unit> findUnitsExcept(Class<? extends Unit> excluded) {
+        return units.allExcept(excluded);
+    }
+
+    /**
+     * Counts the units of the given type on this board.
+     *
+     * @param type
+     *            The type of unit to count.
+     * @return The number of units of the given type on this board.
+     */
+    public int countUnits(Class<? extends Unit> type) {
+        return units.count(type);
+    }
+
+    /**
+     * Registers a unit that was placed on one of the squares of this board.
+     *
+     * @param unit
+     *            The unit that was placed on this board.
+     */
+    void unitPlaced(Unit unit) {
+        units.add(unit);
+    }
+
+    /**
+     * Unregisters a unit that was taken off this board.
+     *
+     * @param unit
+     *            The unit that was taken off this board.
+     */
+    void unitRemoved(Unit unit) {
+        units.remove(unit);
+    }
+
+    /**
+     * Adds a listener that will be notified whenever a unit occupies or leaves
+     * one of the squares on this board.
+     *
+     * @param listener
+     *            The listener to add.
+     */
+    public void addOccupantListener(OccupantListener listener) {
+        assert listener != null;
+        occupantListeners.add(listener);
+    }
+
+    /**
+     * Removes an occupant listener if it was listed.
+     *
+     * @param listener
+     *            The listener to remove.
+     */
+    public void removeOccupantListener(OccupantListener listener) {
+        occupantListeners.remove(listener);
+    }
+
+    /**
+     * Notifies the listeners that a unit started occupying a square.
+     *
+     * @param square
+     *            The square that is now occupied.
+     * @param occupant
+     *            The unit occupying the square.
+     */
+    void occupantAdded(Square square, Unit occupant) {
+        for (OccupantListener listener : occupantListeners) {
+            listener.occupantAdded(square, occupant);
+        }
+    }
+
+    /**
+     * Notifies the listeners that a unit left a square.
+     *
+     * @param square
+     *            The square that was left.
+     * @param occupant
+     *            The unit that left the square.
+     */
+    void occupantRemoved(Square square, Unit occupant) {
+        for (OccupantListener listener : occupantListeners) {
+            listener.occupantRemoved(square, occupant);
+        }
+    }
 }
@@ -53,10 +53,47 @@ public class BoardFactory {
                 }
             }
         }
+        if (isGroundAndWalls(board)) {
+            board.setStaticTerrain(true);
+            board.setDistanceOracle(() -> createDistanceOracle(board));
+        }
 
         return board;
     }
 
+    /**
+     * Creates the table of distances for a board of ground and walls.
+     *
+     * @param board
+     *            The linked board.
+     * @return The distance table, or <code>null</code> if the board is too
+     *         large for a table.
+     */
+    private DistanceOracle createDistanceOracle(Board board) {
+        boolean[] accessible = new boolean[board.getSquareCount()];
+        for (int index = 0; index < accessible.length; index++) {
+            accessible[index] = board.squareAt(index) instanceof Ground;
+        }
+        return DistanceOracle.build(board, accessible);
+    }
+
+    /**
+     * Determines whether a board consists of ground and walls only.
+     *
+     * @param board
+     *            The board to inspect.
+     * @return <code>true</code> iff every square is ground or wall.
+     */
+    private boolean isGroundAndWalls(Board board) {
+        for (int index = 0; index < board.getSquareCount(); index++) {
+            Square square = board.squareAt(index);
+            if (!(square instanceof Ground) && !(square instanceof Wall)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Creates a new square that can be occupied by any unit.
      *
@@ -0,0 +1,244 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Table of the walking distances between all pairs of accessible squares of a
+ * board whose terrain never changes, i.e. a board of squares that are either
+ * accessible to every unit or to none. The table is filled once, with a
+ * breadth first search from every accessible square run in parallel, after
+ * which distances and first steps are answered in constant time.
+ *
+ * @author Jeroen Roosen
+ */
+public final class DistanceOracle {
+
+    /**
+     * The largest number of accessible squares for which a table is built.
+     * The table takes two bytes per pair of squares, so this caps it at about
+     * twelve megabytes.
+     */
+    public static final int MAX_SQUARES = 2500;
+
+    /**
+     * The distance between two squares that cannot reach each other.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * All directions, in the order in which first steps are considered.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The board this table belongs to.
+     */
+    private final Board board;
+
+    /**
+     * The position of each square in the table, by square index, or
+     * <code>-1</code> for inaccessible squares.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of accessible squares.
+     */
+    private final int size;
+
+    /**
+     * The distances, with the distance from a to b at
+     * <code>a * size + b</code>, both being table positions.
+     */
+    private final short[] distances;
+
+    /**
+     * Creates the table for a board.
+     *
+     * @param board
+     *            The board to create the table for.
+     * @param accessible
+     *            Per square index, whether the square is accessible.
+     */
+    private DistanceOracle(Board board, boolean[] accessible) {
+        this.board = board;
+        this.positions = new int[accessible.length];
+        int count = 0;
+        for (int i = 0; i < accessible.length; i++) {
+            positions[i] = -1;
+            if (accessible[i]) {
+                positions[i] = count;
+                count++;
+            }
+        }
+        this.size = count;
+        this.distances = new short[count * count];
+        Arrays.fill(distances, (short) UNREACHABLE);
+        int[] neighbours = neighbours();
+        IntStream.range(0, size).parallel().forEach(source -> fillRow(source, neighbours));
+    }
+
+    /**
+     * Builds the table for a board, provided the board is small enough.
+     *
+     * @param board
+     *            The board to create the table for.
+     * @param accessible
+     *            Per square index, whether the square is accessible.
+     * @return The table, or <code>null</code> if the board has more than
+     *         {@value #MAX_SQUARES} accessible squares.
+     */
+    static DistanceOracle build(Board board, boolean[] accessible) {
+        assert accessible.length == board.getSquareCount();
+        int count = 0;
+        for (boolean isAccessible : accessible) {
+            if (isAccessible) {
+                count++;
+            }
+        }
+        if (count > MAX_SQUARES) {
+            return null;
+        }
+        return new DistanceOracle(board, accessible);
+    }
+
+    /**
+     * Lists the table positions of the neighbours of every accessible square.
+     *
+     * @return The neighbours, with neighbour <code>d</code> of position
+     *         <code>p</code> at <code>p * 4 + d</code>, or <code>-1</code>
+     *         if that neighbour is inaccessible.
+     */
+    private int[] neighbours() {
+        int[] result = new int[size * DIRECTIONS.length];
+        for (int index = 0; index < positions.length; index++) {
+            int position = positions[index];
+            if (position >= 0) {
+                Square square = board.squareAt(index);
+                for (Direction direction : DIRECTIONS) {
+                    int neighbour = square.getSquareAt(direction).getIndex();
+                    result[position * DIRECTIONS.length + direction.ordinal()] =
+                        positions[neighbour];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills the distances from one square with a breadth first search.
+     *
+     * @param source
+     *            The table position of the square.
+     * @param neighbours
+     *            The neighbours, as returned by {@link #neighbours()}.
+     */
+    private void fillRow(int source, int[] neighbours) {
+        int row = source * size;
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        distances[row + source] = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            int next = distances[row + current] + 1;
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int neighbour = neighbours[current * DIRECTIONS.length + d];
+                if (neighbour >= 0 && distances[row + neighbour] == UNREACHABLE) {
+                    distances[row + neighbour] = (short) next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether the table holds distances for the given square.
+     *
+     * @param square
+     *            The square to check.
+     * @return <code>true</code> iff the square is an accessible square of the
+     *         board of this table.
+     */
+    public boolean covers(Square square) {
+        return square.getBoard() == board && positions[square.getIndex()] >= 0;
+    }
+
+    /**
+     * Returns the length of the shortest walk between two squares.
+     *
+     * Precondition: both squares are covered by this table.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The number of steps from one square to the other, or
+     *         {@value #UNREACHABLE} if the destination cannot be reached.
+     */
+    public int distance(Square from, Square to) {
+        assert covers(from) && covers(to);
+        return distances[positions[from.getIndex()] * size + positions[to.getIndex()]];
+    }
+
+    /**
+     * Returns the direction of the first step of a shortest walk between two
+     * squares.
+     *
+     * Precondition: both squares are covered by this table.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The direction to move in, or <code>null</code> if the squares
+     *         are the same or the destination cannot be reached.
+     */
+    public Direction firstStep(Square from, Square to) {
+        int distance = distance(from, to);
+        if (distance <= 0) {
+            return null;
+        }
+        int target = positions[to.getIndex()];
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = positions[from.getSquareAt(direction).getIndex()];
+            if (neighbour >= 0 && distances[neighbour * size + target] == distance - 1) {
+                return direction;
+            }
+        }
+        assert false : "A reachable square has a neighbour closer to the destination.";
+        return null;
+    }
+
+    /**
+     * Returns a shortest walk between two squares.
+     *
+     * Precondition: both squares are covered by this table.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The directions to move in, or <code>null</code> if the
+     *         destination cannot be reached. When the destination is the
+     *         starting square, an empty list is returned.
+     */
+    public List<Direction> path(Square from, Square to) {
+        int distance = distance(from, to);
+        if (distance == UNREACHABLE) {
+            return null;
+        }
+        List<Direction> path = new ArrayList<>(distance);
+        Square current = from;
+        while (current != to) {
+            Direction step = firstStep(current, to);
+            path.add(step);
+            current = current.getSquareAt(step);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,30 @@
+package nl.tudelft.jpacman.board;
+
+/**
+ * Listener that is notified whenever a {@link Unit} starts or stops occupying
+ * one of the squares of a {@link Board}.
+ *
+ * @author Jeroen Roosen
+ */
+public interface OccupantListener {
+
+    /**
+     * A unit has started occupying a square.
+     *
+     * @param square
+     *            The square that is now occupied by the unit.
+     * @param occupant
+     *            The unit occupying the square.
+     */
+    void occupantAdded(Square square, Unit occupant);
+
+    /**
+     * A unit has stopped occupying a square.
+     *
+     * @param square
+     *            The square the unit has left.
+     * @param occupant
+     *            The unit that left the square.
+     */
+    void occupantRemoved(Square square, Unit occupant);
+}
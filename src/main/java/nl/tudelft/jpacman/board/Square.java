@@ -1,9 +1,10 @@
 package nl.tudelft.jpacman.board;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 
@@ -17,20 +18,44 @@ import nl.tudelft.jpacman.sprite.Sprite;
 public abstract class Square {
 
     /**
-     * The units occupying this square, in order of appearance.
+     * The occupants of a square nobody occupies.
      */
-    private final List<Unit> occupants;
+    private static final Unit[] NO_OCCUPANTS = new Unit[0];
+
+    /**
+     * The units occupying this square, in order of appearance. The array is
+     * replaced rather than modified whenever a unit occupies or leaves this
+     * square, so readers can iterate it without copying or locking.
+     */
+    private volatile Unit[] occupants;
+
+    /**
+     * The combined type bits of the occupants, see {@link UnitTypes}.
+     */
+    private volatile long occupantMask;
 
     /**
      * The collection of squares adjacent to this square.
      */
     private final Map<Direction, Square> neighbours;
 
+    /**
+     * The board this square is part of, or <code>null</code> if it has not
+     * been placed on a board yet.
+     */
+    private Board board;
+
+    /**
+     * The index of this square on its board, or <code>-1</code> if it has not
+     * been placed on a board yet.
+     */
+    private int index = -1;
+
     /**
      * Creates a new, empty square.
      */
     protected Square() {
-        this.occupants = new ArrayList<>();
+        this.occupants = NO_OCCUPANTS;
         this.neighbours = new EnumMap<>(Direction.class);
         assert invariant();
     }
@@ -60,6 +85,43 @@ public abstract class Square {
         assert invariant();
     }
 
+    /**
+     * Places this square on a board, so that the board is informed about
+     * units occupying or leaving this square.
+     *
+     * @param owner
+     *            The board this square is part of.
+     * @param position
+     *            The index of this square on the board.
+     */
+    void setBoard(Board owner, int position) {
+        assert board == null || board == owner;
+        this.board = owner;
+        this.index = position;
+    }
+
+    /**
+     * Returns the board this square is part of.
+     *
+     * @return The board this square is part of, or <code>null</code> if it has
+     *         not been placed on a board.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the index of this square on its board, which is a number between
+     * 0 (inclusive) and {@link Board#getSquareCount()} (exclusive) that can be
+     * used to keep per-square data in arrays.
+     *
+     * @return The index of this square, see {@link Board#indexOf(int, int)},
+     *         or <code>-1</code> if it has not been placed on a board.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Returns an immutable list of units occupying this square, in the order in
      * which they occupied this square (i.e. oldest first.)
@@ -71,6 +133,94 @@ public abstract class Square {
         return ImmutableList.copyOf(occupants);
     }
 
+    /**
+     * Returns the number of units occupying this square.
+     *
+     * @return The number of units occupying this square.
+     */
+    public int getOccupantCount() {
+        return occupants.length;
+    }
+
+    /**
+     * Returns the combined {@link UnitTypes} bits of the units occupying this
+     * square. A square with a mask of <code>0</code> is empty, and a square
+     * whose mask does not intersect {@link UnitTypes#maskOf(Class)} has no
+     * occupant of that type.
+     *
+     * @return The mask of the types of the occupants.
+     */
+    public long getOccupantMask() {
+        return occupantMask;
+    }
+
+    /**
+     * Determines whether a unit of the given type occupies this square. For
+     * types with a bit of their own, this is a single mask test.
+     *
+     * @param type
+     *            The type to search for.
+     * @return <code>true</code> iff a unit of the given type occupies this
+     *         square.
+     */
+    public boolean hasOccupant(Class<? extends Unit> type) {
+        long hit = occupantMask & UnitTypes.maskOf(type);
+        if (hit == 0) {
+            return false;
+        }
+        return hit != UnitTypes.OVERFLOW || findOccupant(type) != null;
+    }
+
+    /**
+     * Performs the given action for every unit occupying this square, in the
+     * order in which they occupied this square (i.e. oldest first.) Unlike
+     * {@link #getOccupants()}, this does not copy the occupants. Units that
+     * occupy or leave this square while the action runs are not visited.
+     *
+     * @param action
+     *            The action to perform for each occupant.
+     */
+    public void forEachOccupant(Consumer<? super Unit> action) {
+        assert action != null;
+        for (Unit occupant : occupants) {
+            action.accept(occupant);
+        }
+    }
+
+    /**
+     * Returns the oldest occupant of this square that is of the given type.
+     *
+     * @param type
+     *            The type to search for.
+     * @param <T>
+     *            The type of unit searched for.
+     * @return The oldest occupant of type T, or <code>null</code> if no such
+     *         unit occupies this square.
+     */
+    public <T extends Unit> T findOccupant(Class<T> type) {
+        assert type != null;
+        if ((occupantMask & UnitTypes.maskOf(type)) == 0) {
+            return null;
+        }
+        for (Unit occupant : occupants) {
+            if (type.isInstance(occupant)) {
+                return type.cast(occupant);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determines whether the given unit occupies this square.
+     *
+     * @param unit
+     *            The unit to look for.
+     * @return <code>true</code> iff the unit is one of the occupants.
+     */
+    boolean isOccupiedBy(Unit unit) {
+        return indexOf(occupants, unit) >= 0;
+    }
+
     /**
      * Adds a new occupant to this square.
      *
@@ -79,9 +229,16 @@ public abstract class Square {
      */
     void put(Unit occupant) {
         assert occupant != null;
-        assert !occupants.contains(occupant);
+        assert !isOccupiedBy(occupant);
 
-        occupants.add(occupant);
+        Unit[] current = occupants;
+        Unit[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = occupant;
+        occupants = updated;
+        occupantMask = maskOf(updated);
+        if (board != null) {
+            board.occupantAdded(this, occupant);
+        }
     }
 
     /**
@@ -92,7 +249,62 @@ public abstract class Square {
      */
     void remove(Unit occupant) {
         assert occupant != null;
-        occupants.remove(occupant);
+
+        Unit[] current = occupants;
+        int index = indexOf(current, occupant);
+        if (index < 0) {
+            return;
+        }
+        Unit[] updated = NO_OCCUPANTS;
+        if (current.length > 1) {
+            updated = new Unit[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        }
+        occupants = updated;
+        occupantMask = maskOf(updated);
+        if (board != null) {
+            board.occupantRemoved(this, occupant);
+        }
+    }
+
+    /**
+     * Combines the type bits of the given occupants. Units that were not
+     * created through the constructor of {@link Unit}, such as mocks, have no
+     * bit of their own and get the bit of their class instead.
+     *
+     * @param units
+     *            The occupants.
+     * @return The mask of the types of the occupants.
+     */
+    private static long maskOf(Unit[] units) {
+        long mask = 0L;
+        for (Unit unit : units) {
+            long bit = unit.getTypeBit();
+            if (bit == 0L) {
+                bit = UnitTypes.bitOf(unit.getClass());
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Finds the position of a unit in an array of occupants.
+     *
+     * @param units
+     *            The occupants to search.
+     * @param unit
+     *            The unit to search for.
+     * @return The index of the unit, or <code>-1</code> if it is not listed.
+     */
+    private static int indexOf(Unit[] units, Unit unit) {
+        for (int i = 0; i < units.length; i++) {
+            if (units[i] == unit) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
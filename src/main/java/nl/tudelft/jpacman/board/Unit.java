@@ -19,11 +19,23 @@ public abstract class Unit {
      */
     private Direction direction;
 
+    /**
+     * The id of the concrete type of this unit.
+     */
+    private final int typeId;
+
+    /**
+     * The bit representing the type of this unit in occupant masks.
+     */
+    private final long typeBit;
+
     /**
      * Creates a unit that is facing east.
      */
     protected Unit() {
         this.direction = Direction.EAST;
+        this.typeId = UnitTypes.idOf(getClass());
+        this.typeBit = UnitTypes.bitOf(getClass());
     }
 
     /**
@@ -42,6 +54,24 @@ public abstract class Unit {
         return this.direction;
     }
 
+    /**
+     * Returns the bit representing the type of this unit in occupant masks.
+     *
+     * @return The bit of this unit's type, see {@link UnitTypes#bitOf(Class)}.
+     */
+    long getTypeBit() {
+        return typeBit;
+    }
+
+    /**
+     * Returns the id of the concrete type of this unit.
+     *
+     * @return The id of this unit's type, see {@link UnitTypes#idOf(Class)}.
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+
     /**
      * Returns the square this unit is currently occupying.
      * Precondition: <code>hasSquare()</code>.
@@ -73,11 +103,22 @@ public abstract class Unit {
     public void occupy(Square target) {
         assert target != null;
 
+        Board previousBoard = null;
         if (square != null) {
+            previousBoard = square.getBoard();
             square.remove(this);
         }
         square = target;
         target.put(this);
+        Board targetBoard = target.getBoard();
+        if (previousBoard != targetBoard) {
+            if (previousBoard != null) {
+                previousBoard.unitRemoved(this);
+            }
+            if (targetBoard != null) {
+                targetBoard.unitPlaced(this);
+            }
+        }
         assert invariant();
     }
 
@@ -87,6 +128,10 @@ public abstract class Unit {
     public void leaveSquare() {
         if (square != null) {
             square.remove(this);
+            Board board = square.getBoard();
+            if (board != null) {
+                board.unitRemoved(this);
+            }
             square = null;
         }
         assert invariant();
@@ -101,7 +146,7 @@ public abstract class Unit {
      *         not occupying any square.
      */
     protected boolean invariant() {
-        return square == null || square.getOccupants().contains(this);
+        return square == null || square.isOccupiedBy(this);
     }
 
     /**
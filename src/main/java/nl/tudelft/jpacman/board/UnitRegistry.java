@@ -0,0 +1,135 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The units on a board, indexed by their concrete type. Units of the same
+ * concrete type are listed in the order in which they were placed on the
+ * board, a unit that left the board and came back being placed anew. A query
+ * for a type with several concrete subtypes lists the units per concrete
+ * type, in the order in which the first unit of each concrete type was
+ * registered, so it is not the order of placement across those types.
+ *
+ * <p>
+ * Unlike a search of the squares, the order does not depend on where the
+ * units are. Units placed before the board was built are registered by the
+ * board square by square, so on a fresh board the order of placement is the
+ * order of the squares.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+final class UnitRegistry {
+
+    /**
+     * The units on the board per concrete type.
+     */
+    private final Map<Class<? extends Unit>, Set<Unit>> units = new LinkedHashMap<>();
+
+    /**
+     * Adds a unit to the registry.
+     *
+     * @param unit
+     *            The unit that was placed on the board.
+     */
+    synchronized void add(Unit unit) {
+        units.computeIfAbsent(unit.getClass(), type -> new LinkedHashSet<>()).add(unit);
+    }
+
+    /**
+     * Removes a unit from the registry.
+     *
+     * @param unit
+     *            The unit that was taken off the board.
+     */
+    synchronized void remove(Unit unit) {
+        Set<Unit> ofType = units.get(unit.getClass());
+        if (ofType != null) {
+            ofType.remove(unit);
+        }
+    }
+
+    /**
+     * Returns the first registered unit of the given type.
+     *
+     * @param type
+     *            The type to search for.
+     * @param <T>
+     *            The type of unit searched for.
+     * @return The first unit listed by {@link #all(Class)}, i.e. the unit
+     *         placed first among the units of the first registered concrete
+     *         subtype of the given type, or <code>null</code> if there is
+     *         none.
+     */
+    synchronized <T extends Unit> T first(Class<T> type) {
+        for (Map.Entry<Class<? extends Unit>, Set<Unit>> entry : units.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey()) && !entry.getValue().isEmpty()) {
+                return type.cast(entry.getValue().iterator().next());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all registered units of the given type.
+     *
+     * @param type
+     *            The type to search for.
+     * @param <T>
+     *            The type of unit searched for.
+     * @return A new list with the units of the given type, per concrete type
+     *         in the order described for this class.
+     */
+    synchronized <T extends Unit> List<T> all(Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<Class<? extends Unit>, Set<Unit>> entry : units.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                for (Unit unit : entry.getValue()) {
+                    result.add(type.cast(unit));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all registered units that are not of the given type. Only the
+     * units of the other concrete types are visited.
+     *
+     * @param excluded
+     *            The type to leave out.
+     * @return A new list with the units not of the given type, per concrete
+     *         type in the order described for this class.
+     */
+    synchronized List<Unit> allExcept(Class<? extends Unit> excluded) {
+        List<Unit> result = new ArrayList<>();
+        for (Map.Entry<Class<? extends Unit>, Set<Unit>> entry : units.entrySet()) {
+            if (!excluded.isAssignableFrom(entry.getKey())) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the registered units of the given type.
+     *
+     * @param type
+     *            The type to count.
+     * @return The number of units of the given type.
+     */
+    synchronized int count(Class<? extends Unit> type) {
+        int count = 0;
+        for (Map.Entry<Class<? extends Unit>, Set<Unit>> entry : units.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                count += entry.getValue().size();
+            }
+        }
+        return count;
+    }
+}
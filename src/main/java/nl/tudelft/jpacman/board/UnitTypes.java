@@ -0,0 +1,152 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry assigning a small, dense integer id to every concrete type of
+ * {@link Unit}, as well as a bit derived from that id. Squares combine the bits
+ * of their occupants into a mask, so that the presence of a type of unit can
+ * be tested with a single integer operation.
+ *
+ * <p>
+ * Only {@value #MAX_BITS} types get a bit of their own; any further types share
+ * the {@link #OVERFLOW} bit, for which an actual check of the occupants is
+ * required.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public final class UnitTypes {
+
+    /**
+     * The number of types that get a bit of their own.
+     */
+    public static final int MAX_BITS = 63;
+
+    /**
+     * The bit shared by all types registered after the first
+     * {@value #MAX_BITS}.
+     */
+    public static final long OVERFLOW = 1L << MAX_BITS;
+
+    /**
+     * The ids of the registered concrete types.
+     */
+    private static final Map<Class<?>, Integer> IDS = new ConcurrentHashMap<>();
+
+    /**
+     * The registered concrete types, by id.
+     */
+    private static final List<Class<? extends Unit>> TYPES = new CopyOnWriteArrayList<>();
+
+    /**
+     * The masks of the types queried so far, which are cleared whenever a new
+     * concrete type is registered.
+     */
+    private static final Map<Class<?>, Long> MASKS = new ConcurrentHashMap<>();
+
+    /**
+     * The lock guarding registrations and mask computations.
+     */
+    private static final Object LOCK = new Object();
+
+    private UnitTypes() {
+    }
+
+    /**
+     * Returns the id of a concrete unit type, registering it if it is new.
+     * Ids are assigned in order of registration, starting at 0.
+     *
+     * @param type
+     *            The concrete type of unit.
+     * @return The id of the type.
+     */
+    public static int idOf(Class<? extends Unit> type) {
+        Integer id = IDS.get(type);
+        if (id == null) {
+            id = register(type);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the number of concrete unit types registered so far.
+     *
+     * @return The number of registered types, which is one more than the
+     *         highest id handed out.
+     */
+    public static int count() {
+        return IDS.size();
+    }
+
+    /**
+     * Returns the concrete unit type with the given id.
+     *
+     * @param id
+     *            The id of the type, less than {@link #count()}.
+     * @return The type registered with the id.
+     */
+    public static Class<? extends Unit> typeOf(int id) {
+        return TYPES.get(id);
+    }
+
+    /**
+     * Returns the bit of a concrete unit type.
+     *
+     * @param type
+     *            The concrete type of unit.
+     * @return The bit representing the type in occupant masks.
+     */
+    public static long bitOf(Class<? extends Unit> type) {
+        int id = idOf(type);
+        if (id < MAX_BITS) {
+            return 1L << id;
+        }
+        return OVERFLOW;
+    }
+
+    /**
+     * Returns the mask matching all registered concrete types that are
+     * assignable to the given type, including the {@link #OVERFLOW} bit.
+     *
+     * @param type
+     *            The type of unit, which may be abstract or an interface.
+     * @return The mask of all concrete types that are instances of the type.
+     */
+    public static long maskOf(Class<? extends Unit> type) {
+        Long mask = MASKS.get(type);
+        if (mask == null) {
+            mask = computeMask(type);
+        }
+        return mask;
+    }
+
+    private static int register(Class<? extends Unit> type) {
+        synchronized (LOCK) {
+            Integer id = IDS.get(type);
+            if (id == null) {
+                id = IDS.size();
+                TYPES.add(type);
+                IDS.put(type, id);
+                MASKS.clear();
+            }
+            return id;
+        }
+    }
+
+    private static long computeMask(Class<? extends Unit> type) {
+        synchronized (LOCK) {
+            long mask = OVERFLOW;
+            for (Map.Entry<Class<?>, Integer> entry : IDS.entrySet()) {
+                if (entry.getValue() < MAX_BITS && type.isAssignableFrom(entry.getKey())) {
+                    mask |= 1L << entry.getValue();
+                }
+            }
+            MASKS.put(type, mask);
+            return mask;
+        }
+    }
+}
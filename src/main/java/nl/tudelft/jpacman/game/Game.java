@@ -3,8 +3,10 @@ package nl.tudelft.jpacman.game;
 import java.util.List;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Level.LevelObserver;
+import nl.tudelft.jpacman.level.Level.MoveObserver;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.points.PointCalculator;
 import nl.tudelft.jpacman.Launcher;
@@ -14,7 +16,7 @@ import nl.tudelft.jpacman.Launcher;
  *
  * @author Jeroen Roosen 
  */
-public abstract class Game implements LevelObserver {
+public abstract class Game implements LevelObserver, MoveObserver {
     private Launcher launcher;
 
     public void setLauncher(Launcher launcher) {
@@ -59,6 +61,7 @@ public abstract class Game implements LevelObserver {
             if (getLevel().isAnyPlayerAlive() && getLevel().remainingPellets() > 0) {
                 inProgress = true;
                 getLevel().addObserver(this);
+                getLevel().addMoveObserver(this);
                 getLevel().start();
             }
         }
@@ -106,18 +109,38 @@ public abstract class Game implements LevelObserver {
         if (isInProgress()) {
             // execute player move.
             getLevel().move(player, direction);
-            pointCalculator.pacmanMoved(player, direction);
+        }
+    }
+
+    /**
+     * Calculates the points for a move of a player once the level made it,
+     * which is after {@link #move(Player, Direction)} returned when the level
+     * {@link Level#queueMoves(java.util.concurrent.Executor) queues moves}.
+     *
+     * @param unit
+     *            The unit that moved.
+     * @param direction
+     *            The direction the unit moved in.
+     */
+    @Override
+    public void unitMoved(Unit unit, Direction direction) {
+        if (unit instanceof Player) {
+            pointCalculator.pacmanMoved((Player) unit, direction);
         }
     }
     @Override
     public void levelWon() {
         stop();
-        launcher.won();
+        if (launcher != null) {
+            launcher.won();
+        }
     }
 
     @Override
     public void levelLost() {
         stop();
-        launcher.lost();
+        if (launcher != null) {
+            launcher.lost();
+        }
     }
 }
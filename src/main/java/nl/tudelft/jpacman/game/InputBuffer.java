@@ -0,0 +1,230 @@
+package nl.tudelft.jpacman.game;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.NpcScheduler;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Buffers the directions players want to move in between the user interface
+ * and the game. Offering an intent never blocks: it only replaces the pending
+ * intent of the player, so key repeats that arrive faster than the game
+ * consumes them are coalesced into one move. Once every tick, the simulation
+ * makes at most one move per player, with the latest intent of that player.
+ * The thread handling the input therefore never waits for the locks of the
+ * game.
+ *
+ * @author Jeroen Roosen
+ */
+public class InputBuffer {
+
+    /**
+     * The default time between two ticks in milliseconds.
+     */
+    public static final long DEFAULT_TICK = 20L;
+
+    /**
+     * The game the moves are made in, which may change between ticks.
+     */
+    private final Supplier<Game> games;
+
+    /**
+     * The pending intent of every player that offered one.
+     */
+    private final Map<Player, AtomicReference<Intent>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * The statistics of the intents applied.
+     */
+    private final InputMetrics metrics = new InputMetrics();
+
+    /**
+     * The time between two ticks in milliseconds.
+     */
+    private final long tick;
+
+    /**
+     * The task consuming the intents every tick, or <code>null</code> if the
+     * buffer is stopped.
+     */
+    private volatile TickTask task;
+
+    /**
+     * Creates a new buffer ticking every {@value #DEFAULT_TICK} milliseconds.
+     *
+     * @param game
+     *            The game to make the moves in, asked for every tick.
+     */
+    public InputBuffer(Supplier<Game> game) {
+        this(game, DEFAULT_TICK);
+    }
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param game
+     *            The game to make the moves in, asked for every tick.
+     * @param tickLength
+     *            The time between two ticks in milliseconds.
+     */
+    public InputBuffer(Supplier<Game> game, long tickLength) {
+        assert game != null;
+        assert tickLength > 0;
+        this.games = game;
+        this.tick = tickLength;
+    }
+
+    /**
+     * Offers the direction a player wants to move in, replacing any intent
+     * of the player that was not consumed yet. Never blocks.
+     *
+     * @param player
+     *            The player to move.
+     * @param direction
+     *            The direction to move the player in.
+     */
+    public void offer(Player player, Direction direction) {
+        assert player != null;
+        assert direction != null;
+        Intent intent = new Intent(direction, System.nanoTime());
+        Intent replaced = pending.computeIfAbsent(player, key -> new AtomicReference<>())
+            .getAndSet(intent);
+        if (replaced != null) {
+            metrics.recordCoalesced();
+        }
+    }
+
+    /**
+     * Moves every player of the current game with a pending intent once, in
+     * the direction of its latest intent. Intents of players no longer in the
+     * game are dropped.
+     */
+    public void consume() {
+        Game game = games.get();
+        if (game == null) {
+            pending.clear();
+            return;
+        }
+        List<Player> players = game.getPlayers();
+        for (Map.Entry<Player, AtomicReference<Intent>> entry : pending.entrySet()) {
+            Player player = entry.getKey();
+            if (!players.contains(player)) {
+                pending.remove(player);
+                continue;
+            }
+            Intent intent = entry.getValue().getAndSet(null);
+            if (intent != null) {
+                game.move(player, intent.direction);
+                metrics.recordApplied(System.nanoTime() - intent.time);
+            }
+        }
+    }
+
+    /**
+     * Starts consuming the intents every tick.
+     *
+     * @param scheduler
+     *            The scheduler to run the ticks on.
+     */
+    public void start(NpcScheduler scheduler) {
+        assert scheduler != null;
+        stop();
+        TickTask started = new TickTask(scheduler);
+        task = started;
+        scheduler.schedule(started, tick);
+    }
+
+    /**
+     * Stops consuming the intents. Intents offered meanwhile stay pending.
+     */
+    public void stop() {
+        TickTask running = task;
+        if (running != null) {
+            running.cancelled = true;
+            task = null;
+        }
+    }
+
+    /**
+     * @return The statistics of the intents applied.
+     */
+    public InputMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * A direction a player wants to move in.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class Intent {
+
+        /**
+         * The direction to move in.
+         */
+        private final Direction direction;
+
+        /**
+         * The {@link System#nanoTime()} at which the intent was offered.
+         */
+        private final long time;
+
+        /**
+         * Creates a new intent.
+         *
+         * @param direction
+         *            The direction to move in.
+         * @param time
+         *            The time at which the intent was offered.
+         */
+        Intent(Direction direction, long time) {
+            this.direction = direction;
+            this.time = time;
+        }
+    }
+
+    /**
+     * A task consuming the intents and rescheduling itself every tick, until
+     * it is cancelled.
+     *
+     * @author Jeroen Roosen
+     */
+    private final class TickTask implements Runnable {
+
+        /**
+         * The scheduler the task runs on.
+         */
+        private final NpcScheduler scheduler;
+
+        /**
+         * <code>true</code> once the buffer stopped this task.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Creates a new task.
+         *
+         * @param scheduler
+         *            The scheduler to run on.
+         */
+        TickTask(NpcScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            consume();
+            if (!cancelled) {
+                scheduler.schedule(this, tick);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.game;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of the moves an {@link InputBuffer} applied: how many intents
+ * were applied and coalesced, and the latency between the key press of an
+ * intent and the move it resulted in.
+ *
+ * @author Jeroen Roosen
+ */
+public class InputMetrics {
+
+    /**
+     * The number of intents applied as moves.
+     */
+    private long applied;
+
+    /**
+     * The number of intents replaced by a later intent before they were
+     * applied.
+     */
+    private long coalesced;
+
+    /**
+     * The sum of all latencies in nanoseconds.
+     */
+    private long totalLatency;
+
+    /**
+     * The longest latency in nanoseconds.
+     */
+    private long maxLatency;
+
+    /**
+     * Records an intent applied as a move.
+     *
+     * @param latency
+     *            The nanoseconds between the intent and the end of its move.
+     */
+    synchronized void recordApplied(long latency) {
+        applied++;
+        totalLatency += latency;
+        maxLatency = Math.max(maxLatency, latency);
+    }
+
+    /**
+     * Records an intent replaced by a later one.
+     */
+    synchronized void recordCoalesced() {
+        coalesced++;
+    }
+
+    /**
+     * @return The number of intents applied as moves.
+     */
+    public synchronized long getAppliedCount() {
+        return applied;
+    }
+
+    /**
+     * @return The number of intents replaced by a later intent, e.g. key
+     *         repeats, before they were applied.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalesced;
+    }
+
+    /**
+     * @return The average time between an intent and its move in
+     *         milliseconds, or 0 if no intents were applied.
+     */
+    public synchronized double getAverageLatency() {
+        if (applied == 0) {
+            return 0;
+        }
+        return millis(totalLatency) / applied;
+    }
+
+    /**
+     * @return The longest time between an intent and its move in
+     *         milliseconds.
+     */
+    public synchronized double getMaxLatency() {
+        return millis(maxLatency);
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
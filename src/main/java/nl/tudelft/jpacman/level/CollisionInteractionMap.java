@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import nl.tudelft.jpacman.board.Unit;
 
@@ -21,11 +22,40 @@ public class CollisionInteractionMap implements CollisionMap {
     private final Map<Class<? extends Unit>,
         Map<Class<? extends Unit>, CollisionHandler<?, ?>>> handlers;
 
+    /**
+     * The handler that ignores a collision, cached for pairs of classes that
+     * have no listed handler.
+     */
+    private static final CollisionHandler<Unit, Unit> NO_HANDLER = (collider, collidee) -> {
+    };
+
+    /**
+     * The resolved handler per pair of concrete classes, by collider class and
+     * then by collidee class. The cache is replaced whenever a handler is
+     * added.
+     */
+    private volatile ClassValue<Map<Class<?>, CollisionHandler<?, ?>>> resolved;
+
     /**
      * Creates a new, empty collision map.
      */
     public CollisionInteractionMap() {
         this.handlers = new HashMap<>();
+        this.resolved = newCache();
+    }
+
+    /**
+     * Creates an empty cache of resolved handlers.
+     *
+     * @return The new cache.
+     */
+    private static ClassValue<Map<Class<?>, CollisionHandler<?, ?>>> newCache() {
+        return new ClassValue<Map<Class<?>, CollisionHandler<?, ?>>>() {
+            @Override
+            protected Map<Class<?>, CollisionHandler<?, ?>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
     }
 
     /**
@@ -95,11 +125,14 @@ public class CollisionInteractionMap implements CollisionMap {
 
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(collider);
         map.put(collidee, handler);
+        resolved = newCache();
     }
 
     /**
      * Handles the collision between two colliding parties, if a suitable
-     * collision handler is listed.
+     * collision handler is listed. The handler is only looked up in the class
+     * hierarchy the first time two concrete classes collide, after which it is
+     * taken from a cache.
      *
      * @param <C1>
      *            The collider type.
@@ -115,23 +148,43 @@ public class CollisionInteractionMap implements CollisionMap {
     @Override
     public <C1 extends Unit, C2 extends Unit> void collide(C1 collider,
                                                            C2 collidee) {
-        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, collider.getClass());
+        Map<Class<?>, CollisionHandler<?, ?>> row = resolved.get(collider.getClass());
+        CollisionHandler<?, ?> handler = row.get(collidee.getClass());
+        if (handler == null) {
+            handler = resolve(collider.getClass(), collidee.getClass());
+            row.put(collidee.getClass(), handler);
+        }
+        ((CollisionHandler<C1, C2>) handler).handleCollision(collider, collidee);
+    }
+
+    /**
+     * Looks up the handler for two classes in their class hierarchies.
+     *
+     * @param colliderType
+     *            The class of the collider.
+     * @param collideeType
+     *            The class of the collidee.
+     * @return The handler for the most specific listed classes, or a handler
+     *         that does nothing if none is listed.
+     */
+    private CollisionHandler<?, ?> resolve(Class<? extends Unit> colliderType,
+                                           Class<? extends Unit> collideeType) {
+        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, colliderType);
         if (colliderKey == null) {
-            return;
+            return NO_HANDLER;
         }
 
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(colliderKey);
-        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collidee.getClass());
+        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collideeType);
         if (collideeKey == null) {
-            return;
+            return NO_HANDLER;
         }
 
-        CollisionHandler<C1, C2> collisionHandler = (CollisionHandler<C1, C2>) map.get(collideeKey);
+        CollisionHandler<?, ?> collisionHandler = map.get(collideeKey);
         if (collisionHandler == null) {
-            return;
+            return NO_HANDLER;
         }
-
-        collisionHandler.handleCollision(collider, collidee);
+        return collisionHandler;
     }
 
     /**
@@ -0,0 +1,203 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitTypes;
+import nl.tudelft.jpacman.level.CollisionInteractionMap.CollisionHandler;
+
+/**
+ * A map of possible collisions and their handlers, dispatching on the
+ * {@link Unit#getTypeId() type ids} of the colliding units. Handlers are
+ * listed per pair of types, which may be abstract, like in a
+ * {@link CollisionInteractionMap}. They are resolved for every pair of
+ * concrete types into a flat table indexed by
+ * <code>colliderId * n + collideeId</code>, so handling a collision takes a
+ * single array access, however many types of units there are.
+ *
+ * <p>
+ * Handlers are resolved along the superclasses of both types, the most
+ * specific collider class being decisive. Unlike the interaction map,
+ * interfaces are not considered.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public class CollisionMatrix implements CollisionMap {
+
+    /**
+     * The listed handlers, by collider type and then by collidee type.
+     */
+    private final Map<Class<? extends Unit>,
+        Map<Class<? extends Unit>, CollisionHandler<?, ?>>> handlers = new HashMap<>();
+
+    /**
+     * The resolved handlers of all concrete types known when it was built, or
+     * <code>null</code> if it has to be rebuilt.
+     */
+    private volatile Table table;
+
+    /**
+     * Adds a two-way collision interaction to this collection, i.e. the
+     * collision handler will be used for both C1 versus C2 and C2 versus C1.
+     *
+     * @param <C1>
+     *            The collider type.
+     * @param <C2>
+     *            The collidee (unit that was moved into) type.
+     *
+     * @param collider
+     *            The collider type.
+     * @param collidee
+     *            The collidee type.
+     * @param handler
+     *            The handler that handles the collision.
+     */
+    public <C1 extends Unit, C2 extends Unit> void onCollision(
+        Class<C1> collider, Class<C2> collidee, CollisionHandler<C1, C2> handler) {
+        onCollision(collider, collidee, true, handler);
+    }
+
+    /**
+     * Adds a collision interaction to this collection.
+     *
+     * @param <C1>
+     *            The collider type.
+     * @param <C2>
+     *            The collidee (unit that was moved into) type.
+     *
+     * @param collider
+     *            The collider type.
+     * @param collidee
+     *            The collidee type.
+     * @param symmetric
+     *            <code>true</code> if this collision is used for both
+     *            C1 against C2 and vice versa;
+     *            <code>false</code> if only for C1 against C2.
+     * @param handler
+     *            The handler that handles the collision.
+     */
+    public synchronized <C1 extends Unit, C2 extends Unit> void onCollision(
+        Class<C1> collider, Class<C2> collidee, boolean symmetric,
+        CollisionHandler<C1, C2> handler) {
+        handlers.computeIfAbsent(collider, type -> new HashMap<>()).put(collidee, handler);
+        if (symmetric) {
+            CollisionHandler<C2, C1> inverse = (collidee2, collider2) ->
+                handler.handleCollision(collider2, collidee2);
+            handlers.computeIfAbsent(collidee, type -> new HashMap<>()).put(collider, inverse);
+        }
+        table = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void collide(Unit collider, Unit collidee) {
+        int colliderId = typeIdOf(collider);
+        int collideeId = typeIdOf(collidee);
+        Table current = table;
+        if (current == null || colliderId >= current.size || collideeId >= current.size) {
+            current = rebuild();
+        }
+        CollisionHandler<Unit, Unit> handler =
+            (CollisionHandler<Unit, Unit>) current.handlers[colliderId * current.size + collideeId];
+        if (handler != null) {
+            handler.handleCollision(collider, collidee);
+        }
+    }
+
+    /**
+     * Returns the type id of a unit. Units that were not created through the
+     * constructor of {@link Unit}, such as mocks, report <code>0</code>, and
+     * get the id of their class instead.
+     *
+     * @param unit
+     *            The unit to find the type id of.
+     * @return The id of the concrete type of the unit.
+     */
+    private static int typeIdOf(Unit unit) {
+        int id = unit.getTypeId();
+        if (id == 0) {
+            id = UnitTypes.idOf(unit.getClass());
+        }
+        return id;
+    }
+
+    /**
+     * Resolves the handlers of all concrete types registered so far.
+     *
+     * @return The new table, which is also published to other threads.
+     */
+    private synchronized Table rebuild() {
+        int size = UnitTypes.count();
+        CollisionHandler<?, ?>[] resolved = new CollisionHandler<?, ?>[size * size];
+        for (int colliderId = 0; colliderId < size; colliderId++) {
+            Map<Class<? extends Unit>, CollisionHandler<?, ?>> row =
+                mostSpecific(handlers, UnitTypes.typeOf(colliderId));
+            if (row != null) {
+                for (int collideeId = 0; collideeId < size; collideeId++) {
+                    resolved[colliderId * size + collideeId] =
+                        mostSpecific(row, UnitTypes.typeOf(collideeId));
+                }
+            }
+        }
+        Table result = new Table(size, resolved);
+        table = result;
+        return result;
+    }
+
+    /**
+     * Finds the value listed for the most specific superclass of a type.
+     *
+     * @param map
+     *            The values by type.
+     * @param type
+     *            The type to find the value for.
+     * @param <V>
+     *            The type of values.
+     * @return The value listed for the type or its nearest superclass, or
+     *         <code>null</code> if there is none.
+     */
+    private static <V> V mostSpecific(Map<Class<? extends Unit>, V> map, Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            V value = map.get(current);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The resolved handlers for a number of concrete types.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class Table {
+
+        /**
+         * The number of types covered.
+         */
+        private final int size;
+
+        /**
+         * The handler per pair of type ids, at
+         * <code>colliderId * size + collideeId</code>, or <code>null</code>
+         * where there is none.
+         */
+        private final CollisionHandler<?, ?>[] handlers;
+
+        /**
+         * Creates a new table.
+         *
+         * @param size
+         *            The number of types covered.
+         * @param handlers
+         *            The handler per pair of type ids.
+         */
+        Table(int size, CollisionHandler<?, ?>[] handlers) {
+            this.size = size;
+            this.handlers = handlers;
+        }
+    }
+}
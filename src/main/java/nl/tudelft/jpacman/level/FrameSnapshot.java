@@ -0,0 +1,105 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.BitSet;
+
+import nl.tudelft.jpacman.board.Board;
+
+/**
+ * An immutable copy of the occupants of a board at one moment, published by
+ * a {@link Level} after every change so that readers such as the renderer
+ * never have to look at the live squares, which NPC threads modify
+ * concurrently.
+ *
+ * <p>
+ * The occupants are copied in two {@link SnapshotLayer layers}: the pellets,
+ * and all other units. Pellets only change when one is eaten or placed, so
+ * the pellet layer of the previous snapshot is shared by the next one until
+ * then, and a move only costs time in proportion to the number of units that
+ * can move. Readers can tell an unchanged layer by its identity.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public final class FrameSnapshot {
+
+    /**
+     * The number of this snapshot, increasing with every snapshot a level
+     * publishes.
+     */
+    private final long version;
+
+    /**
+     * The pellets on the board.
+     */
+    private final SnapshotLayer pellets;
+
+    /**
+     * The units on the board other than pellets.
+     */
+    private final SnapshotLayer units;
+
+    private FrameSnapshot(long version, SnapshotLayer pellets, SnapshotLayer units) {
+        this.version = version;
+        this.pellets = pellets;
+        this.units = units;
+    }
+
+    /**
+     * Copies the occupants of a board.
+     *
+     * Precondition: The board does not change during the copy.
+     *
+     * @param board
+     *            The board to copy.
+     * @param version
+     *            The number of the new snapshot.
+     * @param visited
+     *            A set to keep track of the copied squares in, which must be
+     *            empty, and is left empty.
+     * @param unchangedPellets
+     *            The pellet layer of the previous snapshot if no pellet was
+     *            eaten or placed since, or <code>null</code> to copy the
+     *            pellets again.
+     * @return The snapshot of the board.
+     */
+    static FrameSnapshot capture(Board board, long version, BitSet visited,
+                                 SnapshotLayer unchangedPellets) {
+        SnapshotLayer pelletLayer = unchangedPellets;
+        if (pelletLayer == null) {
+            pelletLayer = SnapshotLayer.capture(board.findUnits(Pellet.class),
+                Pellet.class::isInstance, visited);
+        }
+        SnapshotLayer unitLayer = SnapshotLayer.capture(board.findUnitsExcept(Pellet.class),
+            unit -> !(unit instanceof Pellet), visited);
+        return new FrameSnapshot(version, pelletLayer, unitLayer);
+    }
+
+    /**
+     * Returns the number of this snapshot.
+     *
+     * @return The number of this snapshot, higher for later snapshots of the
+     *         same level.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the pellets on the board.
+     *
+     * @return The pellet layer, which is the same object as that of the
+     *         previous snapshot if no pellet was eaten or placed since.
+     */
+    public SnapshotLayer getPellets() {
+        return pellets;
+    }
+
+    /**
+     * Returns the units on the board other than pellets.
+     *
+     * @return The layer of the units other than pellets.
+     */
+    public SnapshotLayer getUnits() {
+        return units;
+    }
+}
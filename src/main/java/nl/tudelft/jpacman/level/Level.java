@@ -1,18 +1,25 @@
 package nl.tudelft.jpacman.level;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.OccupantListener;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.npc.Ghost;
@@ -32,9 +39,12 @@ public class Level {
     private final Board board;
 
     /**
-     * The lock that ensures moves are executed sequential.
+     * The lock that ensures moves are executed sequential. NPCs plan their
+     * moves holding the read lock, so that any number of them can plan at the
+     * same time while the board stays still, and moves are made holding the
+     * write lock.
      */
-    private final Object moveLock = new Object();
+    private final ReadWriteLock moveLock = new ReentrantReadWriteLock();
 
     /**
      * The lock that ensures starting and stopping can't interfere with each
@@ -43,15 +53,28 @@ public class Level {
     private final Object startStopLock = new Object();
 
     /**
-     * The NPCs of this level and, if they are running, their schedules.
+     * The NPCs of this level and, if they are running, their move tasks.
      */
-    private final Map<Ghost, ScheduledExecutorService> npcs;
+    private final Map<Ghost, NpcMoveTask> npcs;
+
+    /**
+     * The scheduler driving the NPCs.
+     */
+    private final NpcScheduler scheduler;
 
     /**
      * <code>true</code> iff this level is currently in progress, i.e. players
      * and NPCs can move.
      */
-    private boolean inProgress;
+    private volatile boolean inProgress;
+
+    /**
+     * The number of times this level has been started. Moves are made for
+     * the start in which they were asked for, and dropped once the level has
+     * been restarted, so that an NPC that was still planning when the level
+     * stopped cannot move after a quick stop and start.
+     */
+    private volatile int generation;
 
     /**
      * The squares from which players can start this game.
@@ -79,7 +102,71 @@ public class Level {
     private final Set<LevelObserver> observers;
 
     /**
-     * Creates a new level for the board.
+     * The objects observing the moves made on this level.
+     */
+    private final CopyOnWriteArrayList<MoveObserver> moveObservers =
+        new CopyOnWriteArrayList<>();
+
+    /**
+     * The number of pellets on the board, kept up to date as pellets occupy
+     * and leave squares.
+     */
+    private final AtomicInteger pellets;
+
+    /**
+     * The latest snapshot of the board, or <code>null</code> until the first
+     * one is requested.
+     */
+    private final AtomicReference<FrameSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * <code>true</code> once snapshots have been requested, after which one is
+     * published after every change to the board.
+     */
+    private volatile boolean publishing;
+
+    /**
+     * The number of the last published snapshot, guarded by the move lock.
+     */
+    private long snapshotVersion;
+
+    /**
+     * The squares copied into the snapshot being taken, guarded by the move
+     * lock.
+     */
+    private final BitSet snapshotCells = new BitSet();
+
+    /**
+     * <code>true</code> once a pellet was eaten or placed after the pellets
+     * were last copied into a snapshot.
+     */
+    private volatile boolean pelletsChanged;
+
+    /**
+     * The executor applying queued moves, or <code>null</code> if moves are
+     * applied by the threads making them.
+     */
+    private volatile Executor moveExecutor;
+
+    /**
+     * The moves waiting to be applied when moves are queued.
+     */
+    private final Queue<MoveCommand> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * <code>true</code> while a task applying the queued moves is pending or
+     * running, which ensures a single thread applies them.
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * The task applying the queued moves.
+     */
+    private final Runnable drainTask = this::drainCommands;
+
+    /**
+     * Creates a new level for the board, with its NPCs driven by the
+     * {@link SharedNpcScheduler}.
      *
      * @param board
      *            The board for the level.
@@ -92,11 +179,32 @@ public class Level {
      */
     public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
                  CollisionMap collisionMap) {
+        this(board, ghosts, startPositions, collisionMap, SharedNpcScheduler.getInstance());
+    }
+
+    /**
+     * Creates a new level for the board.
+     *
+     * @param board
+     *            The board for the level.
+     * @param ghosts
+     *            The ghosts on the board.
+     * @param startPositions
+     *            The squares on which players start on this board.
+     * @param collisionMap
+     *            The collection of collisions that should be handled.
+     * @param npcScheduler
+     *            The scheduler driving the NPCs.
+     */
+    public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                 CollisionMap collisionMap, NpcScheduler npcScheduler) {
         assert board != null;
         assert ghosts != null;
         assert startPositions != null;
+        assert npcScheduler != null;
 
         this.board = board;
+        this.scheduler = npcScheduler;
         this.inProgress = false;
         this.npcs = new HashMap<>();
         for (Ghost ghost : ghosts) {
@@ -107,6 +215,8 @@ public class Level {
         this.players = new ArrayList<>();
         this.collisions = collisionMap;
         this.observers = new HashSet<>();
+        this.pellets = new AtomicInteger(countPellets());
+        board.addOccupantListener(new PelletCounter());
     }
 
     /**
@@ -129,6 +239,27 @@ public class Level {
         observers.remove(observer);
     }
 
+    /**
+     * Adds an observer that will be notified of every move made on this
+     * level. Adding an observer again has no effect.
+     *
+     * @param observer
+     *            The observer that will be notified.
+     */
+    public void addMoveObserver(MoveObserver observer) {
+        moveObservers.addIfAbsent(observer);
+    }
+
+    /**
+     * Removes a move observer if it was listed.
+     *
+     * @param observer
+     *            The observer to be removed.
+     */
+    public void removeMoveObserver(MoveObserver observer) {
+        moveObservers.remove(observer);
+    }
+
     /**
      * Registers a player on this level, assigning him to a starting position. A
      * player can only be registered once, registering a player again will have
@@ -146,7 +277,13 @@ public class Level {
         }
         players.add(player);
         Square square = startSquares.get(startSquareIndex);
-        player.occupy(square);
+        moveLock.writeLock().lock();
+        try {
+            player.occupy(square);
+            publishSnapshot();
+        } finally {
+            moveLock.writeLock().unlock();
+        }
         startSquareIndex++;
         startSquareIndex %= startSquares.size();
     }
@@ -160,9 +297,29 @@ public class Level {
         return board;
     }
 
+    /**
+     * Applies all moves from now on on a single thread: {@link #move(Unit,
+     * Direction)} only queues the move and returns, and the executor applies
+     * the queued moves in batches, in the order in which they were queued.
+     * Players and NPCs then never wait for each other.
+     *
+     * Precondition: The level has not been started yet.
+     *
+     * @param simulation
+     *            The executor to apply the moves on. It is given at most one
+     *            task at a time, so any executor applies the moves one after
+     *            the other.
+     */
+    public void queueMoves(Executor simulation) {
+        assert simulation != null;
+        assert !isInProgress();
+        this.moveExecutor = simulation;
+    }
+
     /**
      * Moves the unit into the given direction if possible and handles all
-     * collisions.
+     * collisions. When {@link #queueMoves(Executor) moves are queued}, the
+     * move is applied later, and only if the level is still in progress then.
      *
      * @param unit
      *            The unit to move.
@@ -170,6 +327,22 @@ public class Level {
      *            The direction to move the unit in.
      */
     public void move(Unit unit, Direction direction) {
+        move(unit, direction, generation);
+    }
+
+    /**
+     * Moves the unit into the given direction if possible and handles all
+     * collisions, unless the level has been restarted since the move was
+     * asked for.
+     *
+     * @param unit
+     *            The unit to move.
+     * @param direction
+     *            The direction to move the unit in.
+     * @param startGeneration
+     *            The {@link #generation} in which the move was asked for.
+     */
+    private void move(Unit unit, Direction direction, int startGeneration) {
         assert unit != null;
         assert direction != null;
         assert unit.hasSquare();
@@ -178,19 +351,134 @@ public class Level {
             return;
         }
 
-        synchronized (moveLock) {
-            unit.setDirection(direction);
-            Square location = unit.getSquare();
-            Square destination = location.getSquareAt(direction);
+        Executor executor = moveExecutor;
+        if (executor != null) {
+            commands.add(new MoveCommand(unit, direction, startGeneration));
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(drainTask);
+            }
+            return;
+        }
+
+        moveLock.writeLock().lock();
+        try {
+            if (startGeneration == generation) {
+                applyMove(unit, direction);
+                publishSnapshot();
+                updateObservers();
+            }
+        } finally {
+            moveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a unit and handles all collisions.
+     *
+     * Precondition: The caller holds the write lock of the move lock.
+     *
+     * @param unit
+     *            The unit to move.
+     * @param direction
+     *            The direction to move the unit in.
+     */
+    private void applyMove(Unit unit, Direction direction) {
+        unit.setDirection(direction);
+        Square location = unit.getSquare();
+        Square destination = location.getSquareAt(direction);
 
-            if (destination.isAccessibleTo(unit)) {
+        if (destination.isAccessibleTo(unit)) {
+            if (destination.getOccupantCount() == 0) {
+                unit.occupy(destination);
+            } else {
                 List<Unit> occupants = destination.getOccupants();
                 unit.occupy(destination);
                 for (Unit occupant : occupants) {
                     collisions.collide(unit, occupant);
                 }
             }
-            updateObservers();
+        }
+        for (MoveObserver observer : moveObservers) {
+            observer.unitMoved(unit, direction);
+        }
+    }
+
+    /**
+     * Applies the queued moves until the queue is empty, and keeps doing so
+     * for moves queued while it finishes.
+     */
+    private void drainCommands() {
+        do {
+            applyCommands();
+            draining.set(false);
+        } while (!commands.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Applies the moves currently queued as one batch, publishing a single
+     * snapshot afterwards.
+     */
+    private void applyCommands() {
+        moveLock.writeLock().lock();
+        try {
+            boolean moved = false;
+            MoveCommand command = commands.poll();
+            while (command != null) {
+                if (isInProgress() && command.generation == generation
+                    && command.unit.hasSquare()) {
+                    applyMove(command.unit, command.direction);
+                    updateObservers();
+                    moved = true;
+                }
+                command = commands.poll();
+            }
+            if (moved) {
+                publishSnapshot();
+            }
+        } finally {
+            moveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the latest snapshot of the occupants of the board. Reading a
+     * snapshot never blocks moves, and a snapshot never changes after it has
+     * been published. The first call starts the publication of a new snapshot
+     * after every move, which levels nobody watches are spared.
+     *
+     * @return The snapshot taken after the last change to the board.
+     */
+    public FrameSnapshot getSnapshot() {
+        FrameSnapshot current = snapshot.get();
+        if (current == null) {
+            moveLock.writeLock().lock();
+            try {
+                publishing = true;
+                publishSnapshot();
+            } finally {
+                moveLock.writeLock().unlock();
+            }
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Publishes a snapshot of the board if anyone requested snapshots.
+     *
+     * Precondition: The caller holds the write lock of the move lock.
+     */
+    private void publishSnapshot() {
+        if (publishing) {
+            snapshotVersion++;
+            FrameSnapshot previous = snapshot.get();
+            SnapshotLayer unchangedPellets = null;
+            if (previous != null && !pelletsChanged) {
+                unchangedPellets = previous.getPellets();
+            }
+            pelletsChanged = false;
+            snapshot.set(FrameSnapshot.capture(board, snapshotVersion, snapshotCells,
+                unchangedPellets));
         }
     }
 
@@ -203,6 +491,7 @@ public class Level {
             if (isInProgress()) {
                 return;
             }
+            generation++;
             startNPCs();
             inProgress = true;
             updateObservers();
@@ -228,23 +517,20 @@ public class Level {
      */
     private void startNPCs() {
         for (final Ghost npc : npcs.keySet()) {
-            ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-
-            service.schedule(new NpcMoveTask(service, npc),
-                npc.getInterval() / 2, TimeUnit.MILLISECONDS);
-            npcs.put(npc, service);
+            NpcMoveTask task = new NpcMoveTask(npc, generation);
+            scheduler.schedule(task, npc.getInterval() / 2);
+            npcs.put(npc, task);
         }
     }
 
     /**
-     * Stops all NPC movement scheduling and interrupts any movements being
-     * executed.
+     * Stops all NPC movement scheduling. Pending moves are cancelled rather
+     * than removed from the scheduler, which is shared with other levels.
      */
     private void stopNPCs() {
-        for (Entry<Ghost, ScheduledExecutorService> entry : npcs.entrySet()) {
-            ScheduledExecutorService schedule = entry.getValue();
-            assert schedule != null;
-            schedule.shutdownNow();
+        for (NpcMoveTask task : npcs.values()) {
+            assert task != null;
+            task.cancel();
         }
     }
 
@@ -291,67 +577,190 @@ public class Level {
     }
 
     /**
-     * Counts the pellets remaining on the board.
+     * Returns the number of pellets remaining on the board. The count is
+     * maintained while pellets occupy and leave squares, so this does not
+     * require a scan of the board.
      *
      * @return The amount of pellets remaining on the board.
      */
     public int remainingPellets() {
-        Board board = getBoard();
-        int pellets = 0;
+        int remaining = pellets.get();
+        assert remaining >= 0;
+        return remaining;
+    }
+
+    /**
+     * Counts the pellets on the board by visiting every square.
+     *
+     * @return The amount of pellets on the board.
+     */
+    private int countPellets() {
+        int count = 0;
         for (int x = 0; x < board.getWidth(); x++) {
             for (int y = 0; y < board.getHeight(); y++) {
                 for (Unit unit : board.squareAt(x, y).getOccupants()) {
                     if (unit instanceof Pellet) {
-                        pellets++;
+                        count++;
                     }
                 }
             }
         }
-        assert pellets >= 0;
-        return pellets;
+        return count;
+    }
+
+    /**
+     * Keeps the pellet count up to date as pellets occupy and leave squares,
+     * and marks the pellets of the last snapshot as outdated.
+     *
+     * @author Jeroen Roosen
+     */
+    private final class PelletCounter implements OccupantListener {
+
+        @Override
+        public void occupantAdded(Square square, Unit occupant) {
+            if (occupant instanceof Pellet) {
+                pellets.incrementAndGet();
+                pelletsChanged = true;
+            }
+        }
+
+        @Override
+        public void occupantRemoved(Square square, Unit occupant) {
+            if (occupant instanceof Pellet) {
+                pellets.decrementAndGet();
+                pelletsChanged = true;
+            }
+        }
     }
 
     /**
-     * A task that moves an NPC and reschedules itself after it finished.
+     * A task that moves an NPC and reschedules itself after it finished,
+     * until it is cancelled. The NPC plans its move holding only the read
+     * lock, so the NPCs due at the same time plan in parallel on the threads
+     * of the scheduler, and only making the move is serialised.
      *
      * @author Jeroen Roosen
      */
     private final class NpcMoveTask implements Runnable {
 
         /**
-         * The service executing the task.
+         * The NPC to move.
          */
-        private final ScheduledExecutorService service;
+        private final Ghost npc;
 
         /**
-         * The NPC to move.
+         * The {@link Level#generation} in which the level started this task.
          */
-        private final Ghost npc;
+        private final int startGeneration;
+
+        /**
+         * <code>true</code> once the level stopped this task.
+         */
+        private volatile boolean cancelled;
 
         /**
          * Creates a new task.
          *
-         * @param service
-         *            The service that executes the task.
          * @param npc
          *            The NPC to move.
+         * @param startGeneration
+         *            The generation in which the level started this task.
          */
-        NpcMoveTask(ScheduledExecutorService service, Ghost npc) {
-            this.service = service;
+        NpcMoveTask(Ghost npc, int startGeneration) {
             this.npc = npc;
+            this.startGeneration = startGeneration;
+        }
+
+        /**
+         * Stops this task, making its pending execution do nothing.
+         */
+        void cancel() {
+            cancelled = true;
         }
 
         @Override
         public void run() {
-            Direction nextMove = npc.nextMove();
+            if (cancelled) {
+                return;
+            }
+            Direction nextMove;
+            moveLock.readLock().lock();
+            try {
+                nextMove = npc.nextMove();
+            } finally {
+                moveLock.readLock().unlock();
+            }
             if (nextMove != null) {
-                move(npc, nextMove);
+                move(npc, nextMove, startGeneration);
+            }
+            if (!cancelled) {
+                scheduler.schedule(this, npc.getInterval());
             }
-            long interval = npc.getInterval();
-            service.schedule(this, interval, TimeUnit.MILLISECONDS);
         }
     }
 
+    /**
+     * A move waiting to be applied.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class MoveCommand {
+
+        /**
+         * The unit to move.
+         */
+        private final Unit unit;
+
+        /**
+         * The direction to move the unit in.
+         */
+        private final Direction direction;
+
+        /**
+         * The {@link Level#generation} in which the move was asked for.
+         */
+        private final int generation;
+
+        /**
+         * Creates a new move.
+         *
+         * @param unit
+         *            The unit to move.
+         * @param direction
+         *            The direction to move the unit in.
+         * @param generation
+         *            The generation in which the move was asked for.
+         */
+        MoveCommand(Unit unit, Direction direction, int generation) {
+            this.unit = unit;
+            this.direction = direction;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * An observer that will be notified of every move made on a level, in the
+     * order in which the moves are made.
+     *
+     * @author Jeroen Roosen
+     */
+    public interface MoveObserver {
+
+        /**
+         * A unit was moved, or tried to move into an inaccessible square, and
+         * all collisions have been handled. The observer is notified while the
+         * level holds its move lock, so it must not move any units itself, and
+         * every other move waits for it to return: anything slow, such as
+         * I/O, has to be handed off to another thread.
+         *
+         * @param unit
+         *            The unit that moved.
+         * @param direction
+         *            The direction the unit moved in.
+         */
+        void unitMoved(Unit unit, Direction direction);
+    }
+
     /**
      * An observer that will be notified when the level is won or lost.
      *
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
@@ -53,7 +54,19 @@ public class LevelFactory {
     private final PointCalculator pointCalculator;
 
     /**
-     * Creates a new level factory.
+     * The scheduler driving the NPCs of the levels created.
+     */
+    private final NpcScheduler npcScheduler;
+
+    /**
+     * The random numbers split among the ghosts created by this factory
+     * itself.
+     */
+    private final RandomService random;
+
+    /**
+     * Creates a new level factory whose levels are driven by the
+     * {@link SharedNpcScheduler}.
      *
      * @param spriteStore
      *            The sprite store providing the sprites for units.
@@ -65,10 +78,56 @@ public class LevelFactory {
     public LevelFactory(PacManSprites spriteStore,
                         GhostFactory ghostFactory,
                         PointCalculator pointCalculator) {
+        this(spriteStore, ghostFactory, pointCalculator, SharedNpcScheduler.getInstance());
+    }
+
+    /**
+     * Creates a new level factory.
+     *
+     * @param spriteStore
+     *            The sprite store providing the sprites for units.
+     * @param ghostFactory
+     *            The factory providing ghosts.
+     * @param pointCalculator
+     *            The algorithm to calculate the points.
+     * @param npcScheduler
+     *            The scheduler driving the NPCs of the levels created, e.g. a
+     *            {@link VirtualNpcScheduler} for a {@link LevelSimulator}.
+     */
+    public LevelFactory(PacManSprites spriteStore,
+                        GhostFactory ghostFactory,
+                        PointCalculator pointCalculator,
+                        NpcScheduler npcScheduler) {
+        this(spriteStore, ghostFactory, pointCalculator, npcScheduler, new RandomService());
+    }
+
+    /**
+     * Creates a new level factory.
+     *
+     * @param spriteStore
+     *            The sprite store providing the sprites for units.
+     * @param ghostFactory
+     *            The factory providing ghosts.
+     * @param pointCalculator
+     *            The algorithm to calculate the points.
+     * @param npcScheduler
+     *            The scheduler driving the NPCs of the levels created.
+     * @param randomService
+     *            The random numbers to split among the ghosts this factory
+     *            creates without the ghost factory.
+     */
+    public LevelFactory(PacManSprites spriteStore,
+                        GhostFactory ghostFactory,
+                        PointCalculator pointCalculator,
+                        NpcScheduler npcScheduler,
+                        RandomService randomService) {
+        assert randomService != null;
         this.sprites = spriteStore;
         this.ghostIndex = -1;
         this.ghostFact = ghostFactory;
         this.pointCalculator = pointCalculator;
+        this.npcScheduler = npcScheduler;
+        this.random = randomService;
     }
 
     /**
@@ -83,11 +142,17 @@ public class LevelFactory {
      * @return A new level for the board.
      */
     public Level createLevel(Board board, List<Ghost> ghosts, List<Square> startPositions) {
+        return new Level(board, ghosts, startPositions, createCollisionMap(), npcScheduler);
+    }
 
-        // We'll adopt the simple collision map for now.
-        CollisionMap collisionMap = new PlayerCollisions(pointCalculator);
-
-        return new Level(board, ghosts, startPositions, collisionMap);
+    /**
+     * Creates the collision map of a new level. By default, these are the
+     * player collisions, dispatched through a {@link CollisionMatrix}.
+     *
+     * @return The collision map for a new level.
+     */
+    protected CollisionMap createCollisionMap() {
+        return new PlayerCollisionMatrix(pointCalculator);
     }
 
     /**
@@ -108,7 +173,7 @@ public class LevelFactory {
             case CLYDE:
                 return ghostFact.createClyde();
             default:
-                return new RandomGhost(sprites.getGhostSprite(GhostColor.RED));
+                return new RandomGhost(sprites.getGhostSprite(GhostColor.RED), random.split());
         }
     }
 
@@ -138,9 +203,11 @@ public class LevelFactory {
          *
          * @param ghostSprite
          *            The sprite for the ghost.
+         * @param random
+         *            The random numbers of the ghost.
          */
-        RandomGhost(Map<Direction, Sprite> ghostSprite) {
-            super(ghostSprite, (int) DELAY, 0);
+        RandomGhost(Map<Direction, Sprite> ghostSprite, RandomService random) {
+            super(ghostSprite, (int) DELAY, 0, random);
         }
 
         @Override
@@ -0,0 +1,189 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import nl.tudelft.jpacman.board.Direction;
+
+/**
+ * Runs a {@link Level} in fixed time steps without any threads. Each step
+ * first applies the player moves queued since the previous step and then
+ * advances the virtual time of the level's {@link VirtualNpcScheduler} by one
+ * step, moving every NPC whose interval elapsed. Collisions are handled by the
+ * level as the moves are made.
+ *
+ * <p>
+ * A level is simulated by creating it with a virtual scheduler, e.g. through
+ * a {@link LevelFactory} that was given one, and passing both to a simulator.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public class LevelSimulator {
+
+    /**
+     * The default length of a step in milliseconds.
+     */
+    public static final long DEFAULT_STEP = 10L;
+
+    /**
+     * The level being simulated.
+     */
+    private final Level level;
+
+    /**
+     * The scheduler driving the NPCs of the level.
+     */
+    private final VirtualNpcScheduler scheduler;
+
+    /**
+     * The length of a step in milliseconds.
+     */
+    private final long stepLength;
+
+    /**
+     * The player moves to apply in the next step.
+     */
+    private final Queue<QueuedMove> moves = new ArrayDeque<>();
+
+    /**
+     * The number of steps taken so far.
+     */
+    private long steps;
+
+    /**
+     * Creates a new simulator taking steps of {@value #DEFAULT_STEP}
+     * milliseconds.
+     *
+     * @param level
+     *            The level to simulate.
+     * @param scheduler
+     *            The scheduler the level was created with.
+     */
+    public LevelSimulator(Level level, VirtualNpcScheduler scheduler) {
+        this(level, scheduler, DEFAULT_STEP);
+    }
+
+    /**
+     * Creates a new simulator.
+     *
+     * @param level
+     *            The level to simulate.
+     * @param scheduler
+     *            The scheduler the level was created with.
+     * @param stepLength
+     *            The length of a step in milliseconds.
+     */
+    public LevelSimulator(Level level, VirtualNpcScheduler scheduler, long stepLength) {
+        assert level != null;
+        assert scheduler != null;
+        assert stepLength > 0;
+
+        this.level = level;
+        this.scheduler = scheduler;
+        this.stepLength = stepLength;
+    }
+
+    /**
+     * Returns the level being simulated.
+     *
+     * @return The level being simulated.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Queues a player move, to be made at the start of the next step.
+     *
+     * @param player
+     *            The player to move.
+     * @param direction
+     *            The direction to move the player in.
+     */
+    public void queueMove(Player player, Direction direction) {
+        assert player != null;
+        assert direction != null;
+
+        moves.add(new QueuedMove(player, direction));
+    }
+
+    /**
+     * Takes a single step.
+     */
+    public void step() {
+        step(1);
+    }
+
+    /**
+     * Takes a number of steps. Queued moves are all made in the first step.
+     * The level is not started or stopped by the simulator, so steps taken
+     * while the level is not in progress only advance the time.
+     *
+     * @param count
+     *            The number of steps to take.
+     */
+    public void step(int count) {
+        assert count >= 0;
+
+        for (int i = 0; i < count; i++) {
+            while (!moves.isEmpty()) {
+                QueuedMove move = moves.poll();
+                if (move.player.hasSquare()) {
+                    level.move(move.player, move.direction);
+                }
+            }
+            scheduler.advance(stepLength);
+            steps++;
+        }
+    }
+
+    /**
+     * Returns the number of steps taken so far.
+     *
+     * @return The number of steps taken.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the simulated time.
+     *
+     * @return The number of milliseconds simulated so far.
+     */
+    public long getTime() {
+        return scheduler.getTime();
+    }
+
+    /**
+     * A player move waiting for the next step.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class QueuedMove {
+
+        /**
+         * The player to move.
+         */
+        private final Player player;
+
+        /**
+         * The direction to move the player in.
+         */
+        private final Direction direction;
+
+        /**
+         * Creates a new queued move.
+         *
+         * @param player
+         *            The player to move.
+         * @param direction
+         *            The direction to move the player in.
+         */
+        QueuedMove(Player player, Direction direction) {
+            this.player = player;
+            this.direction = direction;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package nl.tudelft.jpacman.level;
+
+/**
+ * Drives the moves of the NPCs of a {@link Level}. A level hands every move of
+ * every NPC to its scheduler as a separate, one-off task, so a single
+ * scheduler can serve any number of NPCs and levels.
+ *
+ * @author Jeroen Roosen
+ */
+public interface NpcScheduler {
+
+    /**
+     * Schedules a task to be executed once, after the given delay.
+     *
+     * @param task
+     *            The task to execute.
+     * @param delay
+     *            The delay in milliseconds.
+     */
+    void schedule(Runnable task, long delay);
+}
@@ -0,0 +1,38 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.points.PointCalculator;
+
+/**
+ * The collisions of {@link PlayerCollisions}, dispatched through a
+ * {@link CollisionMatrix} instead of a chain of instanceof checks. New types
+ * of units only require another handler to be listed.
+ *
+ * @author Jeroen Roosen
+ */
+public class PlayerCollisionMatrix implements CollisionMap {
+
+    /**
+     * The matrix dispatching the collisions.
+     */
+    private final CollisionMatrix matrix = new CollisionMatrix();
+
+    /**
+     * Creates the matrix of the Player-Ghost and Player-Pellet collisions,
+     * informing the point calculator about points to be added.
+     *
+     * @param pointCalculator
+     *             Strategy for calculating points.
+     */
+    public PlayerCollisionMatrix(PointCalculator pointCalculator) {
+        PlayerCollisions collisions = new PlayerCollisions(pointCalculator);
+        matrix.onCollision(Player.class, Ghost.class, collisions::playerVersusGhost);
+        matrix.onCollision(Player.class, Pellet.class, collisions::playerVersusPellet);
+    }
+
+    @Override
+    public void collide(Unit mover, Unit collidedOn) {
+        matrix.collide(mover, collidedOn);
+    }
+}
@@ -0,0 +1,66 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The default {@link NpcScheduler}: a single pool of daemon threads, one per
+ * available processor, that drives the NPCs of all running levels. Starting
+ * and stopping a level therefore no longer creates or discards any threads.
+ *
+ * @author Jeroen Roosen
+ */
+public final class SharedNpcScheduler implements NpcScheduler {
+
+    /**
+     * The scheduler shared by all levels.
+     */
+    private static final SharedNpcScheduler INSTANCE = new SharedNpcScheduler();
+
+    /**
+     * The pool executing the moves.
+     */
+    private final ScheduledThreadPoolExecutor executor;
+
+    private SharedNpcScheduler() {
+        executor = new ScheduledThreadPoolExecutor(
+            Runtime.getRuntime().availableProcessors(), new NpcThreadFactory());
+    }
+
+    /**
+     * Returns the scheduler shared by all levels.
+     *
+     * @return The shared scheduler.
+     */
+    public static SharedNpcScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay) {
+        executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the daemon threads of the pool, so that the pool never keeps
+     * the application from exiting.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class NpcThreadFactory implements ThreadFactory {
+
+        /**
+         * The number of threads created so far.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "npc-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * An immutable copy of some of the occupants of a board at one moment, one of
+ * the layers of a {@link FrameSnapshot}.
+ *
+ * <p>
+ * A layer is a list of entries, one per occupant, each holding the index of
+ * the square it is on, the id of its type, the direction it faces and the
+ * sprite it showed. The entries of the same square are adjacent and in the
+ * order in which the square lists its occupants.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public final class SnapshotLayer {
+
+    /**
+     * All directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The square index of each entry.
+     */
+    private final int[] cells;
+
+    /**
+     * The type id of each entry.
+     */
+    private final int[] types;
+
+    /**
+     * The direction of each entry, as an ordinal.
+     */
+    private final byte[] directions;
+
+    /**
+     * The sprite of each entry.
+     */
+    private final Sprite[] sprites;
+
+    private SnapshotLayer(int[] cells, int[] types, byte[] directions, Sprite[] sprites) {
+        this.cells = cells;
+        this.types = types;
+        this.directions = directions;
+        this.sprites = sprites;
+    }
+
+    /**
+     * Copies the occupants of the squares of the given units that belong to
+     * the layer. This takes time in proportion to the number of units and
+     * their fellow occupants, not to the size of the board.
+     *
+     * Precondition: The board does not change during the copy, and the given
+     * units are all the units on the board that belong to the layer.
+     *
+     * @param units
+     *            The units on the board that belong to the layer.
+     * @param member
+     *            Determines whether an occupant belongs to the layer.
+     * @param visited
+     *            A set to keep track of the copied squares in, which must be
+     *            empty, and is left empty.
+     * @return The layer.
+     */
+    static SnapshotLayer capture(List<? extends Unit> units, Predicate<Unit> member,
+                                 BitSet visited) {
+        Builder builder = new Builder(units.size(), member);
+        for (Unit unit : units) {
+            Square square = unit.getSquare();
+            if (!visited.get(square.getIndex())) {
+                visited.set(square.getIndex());
+                builder.copyOccupants(square);
+            }
+        }
+        for (Unit unit : units) {
+            visited.clear(unit.getSquare().getIndex());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of entries, i.e. of occupants in this layer.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Returns the square an occupant was on.
+     *
+     * @param entry
+     *            The index of the entry.
+     * @return The {@link Square#getIndex() index} of the square.
+     */
+    public int getCell(int entry) {
+        return cells[entry];
+    }
+
+    /**
+     * Returns the type of an occupant.
+     *
+     * @param entry
+     *            The index of the entry.
+     * @return The {@link Unit#getTypeId() type id} of the occupant.
+     */
+    public int getTypeId(int entry) {
+        return types[entry];
+    }
+
+    /**
+     * Returns the direction an occupant was facing.
+     *
+     * @param entry
+     *            The index of the entry.
+     * @return The direction of the occupant.
+     */
+    public Direction getDirection(int entry) {
+        return DIRECTIONS[directions[entry]];
+    }
+
+    /**
+     * Returns the sprite an occupant showed.
+     *
+     * @param entry
+     *            The index of the entry.
+     * @return The sprite of the occupant.
+     */
+    public Sprite getSprite(int entry) {
+        return sprites[entry];
+    }
+
+    /**
+     * Returns the end of the entries of the square of an entry.
+     *
+     * @param entry
+     *            The index of the first entry of a square.
+     * @return The index after the last entry on the same square.
+     */
+    public int endOfCell(int entry) {
+        int cell = cells[entry];
+        int end = entry + 1;
+        while (end < cells.length && cells[end] == cell) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Fills the entries of a layer while it is being captured.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class Builder implements Consumer<Unit> {
+
+        /**
+         * The square index of each entry.
+         */
+        private final int[] cells;
+
+        /**
+         * The type id of each entry.
+         */
+        private final int[] types;
+
+        /**
+         * The direction of each entry, as an ordinal.
+         */
+        private final byte[] directions;
+
+        /**
+         * The sprite of each entry.
+         */
+        private final Sprite[] sprites;
+
+        /**
+         * Determines whether an occupant belongs to the layer.
+         */
+        private final Predicate<Unit> member;
+
+        /**
+         * The index of the square being copied.
+         */
+        private int cell;
+
+        /**
+         * The number of entries filled.
+         */
+        private int count;
+
+        /**
+         * Creates a new builder.
+         *
+         * @param capacity
+         *            The number of entries of the layer.
+         * @param member
+         *            Determines whether an occupant belongs to the layer.
+         */
+        Builder(int capacity, Predicate<Unit> member) {
+            this.cells = new int[capacity];
+            this.types = new int[capacity];
+            this.directions = new byte[capacity];
+            this.sprites = new Sprite[capacity];
+            this.member = member;
+        }
+
+        /**
+         * Copies the occupants of a square that belong to the layer.
+         *
+         * @param square
+         *            The square to copy.
+         */
+        void copyOccupants(Square square) {
+            cell = square.getIndex();
+            square.forEachOccupant(this);
+        }
+
+        @Override
+        public void accept(Unit occupant) {
+            if (member.test(occupant)) {
+                assert count < cells.length;
+                cells[count] = cell;
+                types[count] = occupant.getTypeId();
+                directions[count] = (byte) occupant.getDirection().ordinal();
+                sprites[count] = occupant.getSprite();
+                count++;
+            }
+        }
+
+        /**
+         * Creates the layer of the filled entries.
+         *
+         * @return The layer.
+         */
+        SnapshotLayer build() {
+            if (count == cells.length) {
+                return new SnapshotLayer(cells, types, directions, sprites);
+            }
+            return new SnapshotLayer(Arrays.copyOf(cells, count), Arrays.copyOf(types, count),
+                Arrays.copyOf(directions, count), Arrays.copyOf(sprites, count));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * An {@link NpcScheduler} that runs on virtual time instead of a clock. Tasks
+ * are only executed when the time is advanced, on the thread that advances
+ * it, in the order of their due time and, for equal times, in the order in
+ * which they were scheduled. Given the same tasks, every run is the same.
+ *
+ * <p>
+ * This scheduler is not thread safe and is meant to be used from a single
+ * thread, typically by a {@link LevelSimulator}.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public class VirtualNpcScheduler implements NpcScheduler {
+
+    /**
+     * The pending tasks, earliest first.
+     */
+    private final Queue<PendingTask> pending = new PriorityQueue<>();
+
+    /**
+     * The current virtual time in milliseconds.
+     */
+    private long now;
+
+    /**
+     * The number of tasks scheduled so far, which orders tasks that are due at
+     * the same time.
+     */
+    private long scheduled;
+
+    @Override
+    public void schedule(Runnable task, long delay) {
+        assert task != null;
+        assert delay >= 0;
+
+        pending.add(new PendingTask(now + delay, scheduled, task));
+        scheduled++;
+    }
+
+    /**
+     * Advances the virtual time, executing all tasks that become due. Tasks
+     * scheduled by these tasks are executed as well if they become due before
+     * the new time.
+     *
+     * @param millis
+     *            The number of milliseconds to advance the time by.
+     */
+    public void advance(long millis) {
+        assert millis >= 0;
+
+        long until = now + millis;
+        while (!pending.isEmpty() && pending.peek().due <= until) {
+            PendingTask next = pending.poll();
+            now = next.due;
+            next.task.run();
+        }
+        now = until;
+    }
+
+    /**
+     * Returns the current virtual time.
+     *
+     * @return The number of milliseconds the time has been advanced by.
+     */
+    public long getTime() {
+        return now;
+    }
+
+    /**
+     * A task waiting to become due.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class PendingTask implements Comparable<PendingTask> {
+
+        /**
+         * The time at which the task is due.
+         */
+        private final long due;
+
+        /**
+         * The order in which the task was scheduled.
+         */
+        private final long order;
+
+        /**
+         * The task to execute.
+         */
+        private final Runnable task;
+
+        /**
+         * Creates a new pending task.
+         *
+         * @param due
+         *            The time at which the task is due.
+         * @param order
+         *            The order in which the task was scheduled.
+         * @param task
+         *            The task to execute.
+         */
+        PendingTask(long due, long order, Runnable task) {
+            this.due = due;
+            this.order = order;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(PendingTask other) {
+            int result = Long.compare(due, other.due);
+            if (result == 0) {
+                result = Long.compare(order, other.order);
+            }
+            return result;
+        }
+    }
+}
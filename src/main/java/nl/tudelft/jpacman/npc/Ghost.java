@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.npc;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
@@ -9,7 +10,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * A non-player unit.
@@ -32,6 +32,11 @@ public abstract class Ghost extends Unit {
      */
     private final int intervalVariation;
 
+    /**
+     * The random numbers of this ghost.
+     */
+    private final RandomService random;
+
     /**
      * Calculates the next move for this unit and returns the direction to move
      * in.
@@ -61,9 +66,26 @@ public abstract class Ghost extends Unit {
      * @param intervalVariation The variation of the interval.
      */
     protected Ghost(Map<Direction, Sprite> spriteMap, int moveInterval, int intervalVariation) {
+        this(spriteMap, moveInterval, intervalVariation, new RandomService());
+    }
+
+    /**
+     * Creates a new ghost.
+     *
+     * @param spriteMap         The sprites for every direction.
+     * @param moveInterval      The base interval of movement.
+     * @param intervalVariation The variation of the interval.
+     * @param randomService     The random numbers of this ghost, which no
+     *                          other unit uses.
+     */
+    protected Ghost(Map<Direction, Sprite> spriteMap, int moveInterval, int intervalVariation,
+                    RandomService randomService) {
+        assert intervalVariation >= 0;
+        assert randomService != null;
         this.sprites = spriteMap;
         this.intervalVariation = intervalVariation;
         this.moveInterval = moveInterval;
+        this.random = randomService;
     }
 
     @Override
@@ -77,7 +99,10 @@ public abstract class Ghost extends Unit {
      * @return The suggested delay between moves in milliseconds.
      */
     public long getInterval() {
-        return this.moveInterval + new Random().nextInt(this.intervalVariation);
+        if (intervalVariation == 0) {
+            return moveInterval;
+        }
+        return this.moveInterval + random.nextInt(this.intervalVariation);
     }
 
     /**
@@ -97,7 +122,7 @@ public abstract class Ghost extends Unit {
         if (directions.isEmpty()) {
             return null;
         }
-        int i = new Random().nextInt(directions.size());
+        int i = random.nextInt(directions.size());
         return directions.get(i);
     }
 }
@@ -1,11 +1,10 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.board.Direction;
-import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.npc.Ghost;
@@ -62,7 +61,19 @@ public class Blinky extends Ghost {
     // TODO Blinky should speed up when there are a few pellets left, but he
     // has no way to find out how many there are.
     public Blinky(Map<Direction, Sprite> spriteMap) {
-        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION);
+        this(spriteMap, new RandomService());
+    }
+
+    /**
+     * Creates a new "Blinky", a.k.a. "Shadow".
+     *
+     * @param spriteMap
+     *            The sprites for this ghost.
+     * @param random
+     *            The random numbers of this ghost.
+     */
+    public Blinky(Map<Direction, Sprite> spriteMap, RandomService random) {
+        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION, random);
     }
 
     /**
@@ -89,12 +100,7 @@ public class Blinky extends Ghost {
             return Optional.empty();
         }
         assert nearest.hasSquare();
-        Square target = nearest.getSquare();
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), target, this);
-        if (path != null && !path.isEmpty()) {
-            return Optional.ofNullable(path.get(0));
-        }
-        return Optional.empty();
+        return Optional.ofNullable(Navigation.firstStepTowards(nearest, this));
     }
 }
@@ -0,0 +1,208 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Breadth first search over the squares of a {@link Board}, keeping its state
+ * in arrays indexed by {@link Square#getIndex()}. The arrays are reused for
+ * every search on the same thread, so a search only allocates the path it
+ * returns.
+ *
+ * @author Jeroen Roosen
+ */
+final class BreadthFirstSearch {
+
+    /**
+     * All directions, in the order in which neighbours are explored.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The search buffers of every thread.
+     */
+    private static final ThreadLocal<BreadthFirstSearch> SEARCHES =
+        ThreadLocal.withInitial(BreadthFirstSearch::new);
+
+    /**
+     * The squares to visit, as indices, in the order in which they were
+     * reached.
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * The index of the square each visited square was reached from.
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * The direction each visited square was reached in, as an ordinal.
+     */
+    private byte[] via = new byte[0];
+
+    /**
+     * The search in which each square was last visited, which saves clearing
+     * the buffers between searches.
+     */
+    private int[] visited = new int[0];
+
+    /**
+     * The number of the current search.
+     */
+    private int search;
+
+    private BreadthFirstSearch() {
+    }
+
+    /**
+     * Returns the search buffers of the current thread.
+     *
+     * @return The search for the current thread.
+     */
+    static BreadthFirstSearch forCurrentThread() {
+        return SEARCHES.get();
+    }
+
+    /**
+     * Calculates the shortest path between two squares on the same board.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller whose access to squares is checked, or
+     *            <code>null</code> to ignore terrain.
+     * @return The shortest path to the destination or <code>null</code> if no
+     *         such path could be found. When the destination is the current
+     *         square, an empty list is returned.
+     */
+    List<Direction> shortestPath(Square from, Square to, Unit traveller) {
+        assert from.getBoard() != null && from.getBoard() == to.getBoard();
+
+        int target = to.getIndex();
+        if (from.getIndex() == target) {
+            return new ArrayList<>();
+        }
+        if (expand(from, traveller, index -> index == target) < 0) {
+            return null;
+        }
+        return pathTo(target);
+    }
+
+    /**
+     * Finds the unit of the given type closest to a square, ignoring terrain.
+     *
+     * @param type
+     *            The type of unit to search for.
+     * @param from
+     *            The starting square.
+     * @param <T>
+     *            The type of unit searched for.
+     * @return The nearest unit of the given type, or <code>null</code> if no
+     *         such unit could be found.
+     */
+    <T extends Unit> T nearest(Class<T> type, Square from) {
+        assert from.getBoard() != null;
+
+        Board board = from.getBoard();
+        int found = expand(from, null, index -> board.squareAt(index).findOccupant(type) != null);
+        if (found < 0) {
+            return null;
+        }
+        return board.squareAt(found).findOccupant(type);
+    }
+
+    /**
+     * Visits the squares of a board in breadth first order until one of them
+     * is a goal. Every square is put in the queue at most once, so the queue
+     * never holds more entries than the board has squares.
+     *
+     * @param from
+     *            The square to start from, on a board.
+     * @param traveller
+     *            The traveller whose access to squares is checked, or
+     *            <code>null</code> to ignore terrain.
+     * @param goal
+     *            Whether the square with a given index is a goal.
+     * @return The index of the first goal visited, or <code>-1</code> if no
+     *         goal can be reached.
+     */
+    private int expand(Square from, Unit traveller, IntPredicate goal) {
+        Board board = from.getBoard();
+        begin(board);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from.getIndex();
+        visit(from.getIndex(), -1, 0);
+        while (head < tail) {
+            int current = queue[head++];
+            if (goal.test(current)) {
+                return current;
+            }
+            Square square = board.squareAt(current);
+            for (Direction direction : DIRECTIONS) {
+                Square next = square.getSquareAt(direction);
+                int index = next.getIndex();
+                if (visited[index] != search
+                    && (traveller == null || next.isAccessibleTo(traveller))) {
+                    visit(index, current, direction.ordinal());
+                    queue[tail++] = index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Prepares the buffers for a new search on the given board.
+     *
+     * @param board
+     *            The board to search.
+     */
+    private void begin(Board board) {
+        int squares = board.getSquareCount();
+        if (visited.length < squares) {
+            queue = new int[squares];
+            parent = new int[squares];
+            via = new byte[squares];
+            visited = new int[squares];
+            search = 0;
+        }
+        search++;
+        if (search == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            search = 1;
+        }
+    }
+
+    private void visit(int index, int from, int direction) {
+        visited[index] = search;
+        parent[index] = from;
+        via[index] = (byte) direction;
+    }
+
+    /**
+     * Reconstructs the path from the start of the current search.
+     *
+     * @param target
+     *            The index of the square the path leads to.
+     * @return The directions from the start to the target square.
+     */
+    private List<Direction> pathTo(int target) {
+        List<Direction> path = new ArrayList<>();
+        for (int index = target; parent[index] >= 0; index = parent[index]) {
+            path.add(DIRECTIONS[via[index]]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
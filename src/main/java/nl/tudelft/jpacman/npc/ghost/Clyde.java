@@ -1,12 +1,11 @@
 package nl.tudelft.jpacman.npc.ghost;
 
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.board.Direction;
-import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.npc.Ghost;
@@ -75,7 +74,19 @@ public class Clyde extends Ghost {
      * @param spriteMap The sprites for this ghost.
      */
     public Clyde(Map<Direction, Sprite> spriteMap) {
-        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION);
+        this(spriteMap, new RandomService());
+    }
+
+    /**
+     * Creates a new "Clyde", a.k.a. "Pokey".
+     *
+     * @param spriteMap
+     *            The sprites for this ghost.
+     * @param random
+     *            The random numbers of this ghost.
+     */
+    public Clyde(Map<Direction, Sprite> spriteMap, RandomService random) {
+        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION, random);
     }
 
     /**
@@ -99,12 +110,11 @@ public class Clyde extends Ghost {
             return Optional.empty();
         }
         assert nearest.hasSquare();
-        Square target = nearest.getSquare();
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), target, this);
-        if (path != null && !path.isEmpty()) {
-            Direction direction = path.get(0);
-            if (path.size() <= SHYNESS) {
+        Navigation.Heading heading = Navigation.headingTowards(nearest, this);
+        Direction direction = heading.getDirection();
+        if (direction != null) {
+            if (heading.getDistance() <= SHYNESS) {
                 return Optional.ofNullable(OPPOSITES.get(direction));
             }
             return Optional.of(direction);
@@ -0,0 +1,342 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.StampedLock;
+
+import com.google.common.collect.MapMaker;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceOracle;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The walking distance from every square of a board to the square of one
+ * target unit, typically a player. All ghosts chasing the same unit share its
+ * field, which is recomputed with a single breadth first search once the
+ * target has moved. Reading the next step towards the target is then a
+ * constant time lookup, regardless of the number of ghosts.
+ *
+ * <p>
+ * Flow fields are only valid on boards with
+ * {@link Board#hasStaticTerrain() static terrain}, on which the walking
+ * distance is the same for every unit and in both directions.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+final class FlowField {
+
+    /**
+     * All directions, in the order in which steps are considered.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The flow field of every target unit, by identity. The map is concurrent,
+     * so ghosts on different threads look up their fields without waiting
+     * for each other. Fields only refer to squares weakly, so they do not
+     * keep their target or its board alive.
+     */
+    private static final ConcurrentMap<Unit, FlowField> FIELDS =
+        new MapMaker().weakKeys().makeMap();
+
+    /**
+     * The distances computed for the most recent square of the target.
+     */
+    private volatile Distances current;
+
+    /**
+     * The distances computed before {@link #current}, whose buffer is reused
+     * for the next computation, or <code>null</code> if there are none.
+     * Guarded by this field.
+     */
+    private Distances spare;
+
+    /**
+     * The queue of the breadth first search, reused for every computation.
+     * Guarded by this field.
+     */
+    private int[] queue = new int[0];
+
+    private FlowField() {
+    }
+
+    /**
+     * Returns the flow field leading to a unit, recomputing it if the unit
+     * moved since it was last computed.
+     *
+     * Precondition: The target occupies a square on a board with static
+     * terrain.
+     *
+     * @param target
+     *            The unit to lead to.
+     * @return The up to date flow field leading to the unit.
+     */
+    static FlowField towards(Unit target) {
+        Board board = target.getSquare().getBoard();
+        assert board != null && board.hasStaticTerrain();
+
+        FlowField field = FIELDS.get(target);
+        if (field == null) {
+            field = FIELDS.computeIfAbsent(target, key -> new FlowField());
+        }
+        return field.update(target);
+    }
+
+    /**
+     * Recomputes the distances if the target moved since the last
+     * computation. The distances are computed into the buffer of the
+     * computation before the current one, which is then swapped in, so a
+     * move of the target allocates nothing once both buffers exist.
+     *
+     * @param target
+     *            The unit this field leads to.
+     * @return This flow field.
+     */
+    private FlowField update(Unit target) {
+        Square square = target.getSquare();
+        if (!leadsTo(square)) {
+            synchronized (this) {
+                if (!leadsTo(square)) {
+                    int squares = square.getBoard().getSquareCount();
+                    Distances next = spare;
+                    if (next == null || next.size() != squares) {
+                        next = new Distances(squares);
+                    }
+                    if (queue.length < squares) {
+                        queue = new int[squares];
+                    }
+                    next.compute(square, target, queue);
+                    spare = current;
+                    current = next;
+                }
+            }
+        }
+        return this;
+    }
+
+    private boolean leadsTo(Square square) {
+        Distances distances = current;
+        return distances != null && distances.leadsTo(square);
+    }
+
+    /**
+     * Returns the number of steps from a square to the target.
+     *
+     * @param from
+     *            The square to measure from.
+     * @return The number of steps, or {@link DistanceOracle#UNREACHABLE} if the
+     *         target cannot be reached from the square.
+     */
+    int distanceFrom(Square from) {
+        return current.distanceFrom(from);
+    }
+
+    /**
+     * Returns the direction of the first step from a square towards the
+     * target.
+     *
+     * @param from
+     *            The square to move from.
+     * @return The direction to move in, or <code>null</code> if the square is
+     *         the target square or the target cannot be reached from it.
+     */
+    Direction stepFrom(Square from) {
+        return current.stepFrom(from);
+    }
+
+    /**
+     * Returns both the first step from a square towards the target and the
+     * number of steps, read from the same computation of the distances.
+     *
+     * @param from
+     *            The square to move from.
+     * @return The heading from the square towards the target.
+     */
+    Navigation.Heading headingFrom(Square from) {
+        return current.headingFrom(from);
+    }
+
+    /**
+     * The distances to one square of the target, in a buffer that is
+     * recomputed when the target has moved twice since. Readers that hold on
+     * to the distances while they are being recomputed read optimistically
+     * and retry under the read lock, so every answer comes from a single
+     * computation.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class Distances {
+
+        /**
+         * Guards the buffer against being recomputed while it is read.
+         */
+        private final StampedLock lock = new StampedLock();
+
+        /**
+         * The distance to the source, per square index.
+         */
+        private final int[] distance;
+
+        /**
+         * The square the distances lead to.
+         */
+        private volatile WeakReference<Square> source = new WeakReference<>(null);
+
+        /**
+         * Creates a new buffer that leads nowhere yet.
+         *
+         * @param squares
+         *            The number of squares of the board.
+         */
+        Distances(int squares) {
+            this.distance = new int[squares];
+        }
+
+        /**
+         * Returns the number of squares the distances are kept for.
+         *
+         * @return The number of squares of the board.
+         */
+        int size() {
+            return distance.length;
+        }
+
+        /**
+         * Determines whether the distances lead to a square.
+         *
+         * @param square
+         *            The square of the target.
+         * @return <code>true</code> iff the distances were last computed to
+         *         the square.
+         */
+        boolean leadsTo(Square square) {
+            return source.get() == square;
+        }
+
+        /**
+         * Computes the distances with a breadth first search from the source.
+         *
+         * @param from
+         *            The square to compute the distances to.
+         * @param probe
+         *            A unit to test the accessibility of squares with, which
+         *            makes no difference on boards with static terrain.
+         * @param queue
+         *            The queue to search with, with room for every square.
+         */
+        void compute(Square from, Unit probe, int[] queue) {
+            Board board = from.getBoard();
+            long stamp = lock.writeLock();
+            try {
+                source = new WeakReference<>(from);
+                Arrays.fill(distance, DistanceOracle.UNREACHABLE);
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = from.getIndex();
+                distance[from.getIndex()] = 0;
+                while (head < tail) {
+                    int index = queue[head++];
+                    Square square = board.squareAt(index);
+                    for (Direction direction : DIRECTIONS) {
+                        Square next = square.getSquareAt(direction);
+                        if (distance[next.getIndex()] == DistanceOracle.UNREACHABLE
+                            && next.isAccessibleTo(probe)) {
+                            distance[next.getIndex()] = distance[index] + 1;
+                            queue[tail++] = next.getIndex();
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Returns the number of steps from a square to the source.
+         *
+         * @param from
+         *            The square to measure from.
+         * @return The number of steps, or {@link DistanceOracle#UNREACHABLE}
+         *         if the source cannot be reached from the square.
+         */
+        int distanceFrom(Square from) {
+            long stamp = lock.tryOptimisticRead();
+            int result = distance[from.getIndex()];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    result = distance[from.getIndex()];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the direction of the first step from a square towards the
+         * source.
+         *
+         * @param from
+         *            The square to move from.
+         * @return The direction to move in, or <code>null</code> if the
+         *         square is the source or the source cannot be reached from
+         *         it.
+         */
+        Direction stepFrom(Square from) {
+            long stamp = lock.tryOptimisticRead();
+            Direction result = step(from);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    result = step(from);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns both the first step from a square towards the source and
+         * the number of steps, read from the same computation.
+         *
+         * @param from
+         *            The square to move from.
+         * @return The heading from the square towards the source.
+         */
+        Navigation.Heading headingFrom(Square from) {
+            long stamp = lock.tryOptimisticRead();
+            Direction step = step(from);
+            int steps = distance[from.getIndex()];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    step = step(from);
+                    steps = distance[from.getIndex()];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return new Navigation.Heading(step, steps);
+        }
+
+        private Direction step(Square from) {
+            int remaining = distance[from.getIndex()];
+            if (remaining <= 0) {
+                return null;
+            }
+            for (Direction direction : DIRECTIONS) {
+                if (distance[from.getSquareAt(direction).getIndex()] == remaining - 1) {
+                    return direction;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.npc.ghost;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.npc.Ghost;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
@@ -16,12 +17,30 @@ public class GhostFactory {
     private final PacManSprites sprites;
 
     /**
-     * Creates a new ghost factory.
+     * The random numbers split among the ghosts created.
+     */
+    private final RandomService random;
+
+    /**
+     * Creates a new ghost factory whose ghosts have unpredictable random
+     * numbers.
      *
      * @param spriteStore The sprite provider.
      */
     public GhostFactory(PacManSprites spriteStore) {
+        this(spriteStore, new RandomService());
+    }
+
+    /**
+     * Creates a new ghost factory.
+     *
+     * @param spriteStore The sprite provider.
+     * @param randomService The random numbers to split among the ghosts.
+     */
+    public GhostFactory(PacManSprites spriteStore, RandomService randomService) {
+        assert randomService != null;
         this.sprites = spriteStore;
+        this.random = randomService;
     }
 
     /**
@@ -31,7 +50,7 @@ public class GhostFactory {
      * @return A new Blinky.
      */
     public Ghost createBlinky() {
-        return new Blinky(sprites.getGhostSprite(GhostColor.RED));
+        return new Blinky(sprites.getGhostSprite(GhostColor.RED), random.split());
     }
 
     /**
@@ -41,7 +60,7 @@ public class GhostFactory {
      * @return A new Pinky.
      */
     public Ghost createPinky() {
-        return new Pinky(sprites.getGhostSprite(GhostColor.PINK));
+        return new Pinky(sprites.getGhostSprite(GhostColor.PINK), random.split());
     }
 
     /**
@@ -51,7 +70,7 @@ public class GhostFactory {
      * @return A new Inky.
      */
     public Ghost createInky() {
-        return new Inky(sprites.getGhostSprite(GhostColor.CYAN));
+        return new Inky(sprites.getGhostSprite(GhostColor.CYAN), random.split());
     }
 
     /**
@@ -61,6 +80,6 @@ public class GhostFactory {
      * @return A new Clyde.
      */
     public Ghost createClyde() {
-        return new Clyde(sprites.getGhostSprite(GhostColor.ORANGE));
+        return new Clyde(sprites.getGhostSprite(GhostColor.ORANGE), random.split());
     }
 }
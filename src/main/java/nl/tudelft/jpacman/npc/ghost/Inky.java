@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.npc.ghost;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
@@ -52,7 +53,19 @@ public class Inky extends Ghost {
      * @param spriteMap The sprites for this ghost.
      */
     public Inky(Map<Direction, Sprite> spriteMap) {
-        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION);
+        this(spriteMap, new RandomService());
+    }
+
+    /**
+     * Creates a new "Inky".
+     *
+     * @param spriteMap
+     *            The sprites for this ghost.
+     * @param random
+     *            The random numbers of this ghost.
+     */
+    public Inky(Map<Direction, Sprite> spriteMap, RandomService random) {
+        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION, random);
     }
 
     /**
@@ -102,13 +115,7 @@ public class Inky extends Ghost {
         }
 
         Square destination = followPath(firstHalf, playerDestination);
-        List<Direction> path = Navigation.shortestPath(getSquare(),
-            destination, this);
-
-        if (path != null && !path.isEmpty()) {
-            return Optional.ofNullable(path.get(0));
-        }
-        return Optional.empty();
+        return Optional.ofNullable(Navigation.firstStep(getSquare(), destination, this));
     }
 
 
@@ -7,6 +7,7 @@ import java.util.Set;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceOracle;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 
@@ -21,8 +22,11 @@ public final class Navigation {
     }
 
     /**
-     * Calculates the shortest path. This is done by BFS. This search ensures
-     * the traveller is allowed to occupy the squares on the way, or returns the
+     * Calculates the shortest path. When the board has a
+     * {@link DistanceOracle} the path is read from its table, otherwise this
+     * is done by BFS, which for squares on a board runs on the reusable
+     * buffers of {@link BreadthFirstSearch}. This search ensures the
+     * traveller is allowed to occupy the squares on the way, or returns the
      * shortest path to the square regardless of terrain if no traveller is
      * specified.
      *
@@ -44,6 +48,13 @@ public final class Navigation {
         if (from.equals(to)) {
             return new ArrayList<>();
         }
+        DistanceOracle oracle = oracleFor(from, to, traveller);
+        if (oracle != null) {
+            return oracle.path(from, to);
+        }
+        if (onSameBoard(from, to)) {
+            return BreadthFirstSearch.forCurrentThread().shortestPath(from, to, traveller);
+        }
 
         List<Node> targets = new ArrayList<>();
         Set<Square> visited = new HashSet<>();
@@ -60,6 +71,195 @@ public final class Navigation {
         return null;
     }
 
+    /**
+     * Returns the direction of the first step on the shortest path between
+     * two squares. This is a table lookup when the board has a
+     * {@link DistanceOracle}, and a search otherwise.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller attempting to reach the destination, or
+     *            <code>null</code> to ignore terrain.
+     * @return The direction to move in, or <code>null</code> if the
+     *         destination is the current square or cannot be reached.
+     */
+    public static Direction firstStep(Square from, Square to, Unit traveller) {
+        DistanceOracle oracle = oracleFor(from, to, traveller);
+        if (oracle != null) {
+            return oracle.firstStep(from, to);
+        }
+        List<Direction> path = shortestPath(from, to, traveller);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        return path.get(0);
+    }
+
+    /**
+     * Returns the length of the shortest path between two squares. This is a
+     * table lookup when the board has a {@link DistanceOracle}, and a search
+     * otherwise.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller attempting to reach the destination, or
+     *            <code>null</code> to ignore terrain.
+     * @return The number of steps to the destination, or
+     *         {@link DistanceOracle#UNREACHABLE} if it cannot be reached.
+     */
+    public static int distance(Square from, Square to, Unit traveller) {
+        DistanceOracle oracle = oracleFor(from, to, traveller);
+        if (oracle != null) {
+            return oracle.distance(from, to);
+        }
+        List<Direction> path = shortestPath(from, to, traveller);
+        if (path == null) {
+            return DistanceOracle.UNREACHABLE;
+        }
+        return path.size();
+    }
+
+    /**
+     * Returns the direction of the first step on the shortest path towards
+     * the square of another unit. On boards with static terrain that are too
+     * large for a {@link DistanceOracle}, this is read from the
+     * {@link FlowField} towards the unit, which is shared by all travellers
+     * and only recomputed when the unit has moved.
+     *
+     * @param target
+     *            The unit to move towards, which occupies a square.
+     * @param traveller
+     *            The traveller attempting to reach the unit, which occupies a
+     *            square.
+     * @return The direction to move in, or <code>null</code> if the traveller
+     *         is on the square of the unit or cannot reach it.
+     */
+    public static Direction firstStepTowards(Unit target, Unit traveller) {
+        Square from = traveller.getSquare();
+        Square to = target.getSquare();
+        if (oracleFor(from, to, traveller) == null && sharesStaticTerrain(from, to)) {
+            return FlowField.towards(target).stepFrom(from);
+        }
+        return firstStep(from, to, traveller);
+    }
+
+    /**
+     * Returns the length of the shortest path towards the square of another
+     * unit, reading it from the shared {@link FlowField} towards the unit
+     * where {@link #firstStepTowards(Unit, Unit)} would.
+     *
+     * @param target
+     *            The unit to move towards, which occupies a square.
+     * @param traveller
+     *            The traveller attempting to reach the unit, which occupies a
+     *            square.
+     * @return The number of steps to the unit, or
+     *         {@link DistanceOracle#UNREACHABLE} if it cannot be reached.
+     */
+    public static int distanceTo(Unit target, Unit traveller) {
+        Square from = traveller.getSquare();
+        Square to = target.getSquare();
+        if (oracleFor(from, to, traveller) == null && sharesStaticTerrain(from, to)) {
+            return FlowField.towards(target).distanceFrom(from);
+        }
+        return distance(from, to, traveller);
+    }
+
+    /**
+     * Returns both the direction of the first step and the length of the
+     * shortest path towards the square of another unit. Where
+     * {@link #firstStepTowards(Unit, Unit)} would use a {@link FlowField},
+     * both are read from a single lookup of the field, so they always belong
+     * to the same position of the unit. Otherwise a single search answers
+     * both.
+     *
+     * @param target
+     *            The unit to move towards, which occupies a square.
+     * @param traveller
+     *            The traveller attempting to reach the unit, which occupies a
+     *            square.
+     * @return The heading of the traveller towards the unit.
+     */
+    static Heading headingTowards(Unit target, Unit traveller) {
+        Square from = traveller.getSquare();
+        Square to = target.getSquare();
+        DistanceOracle oracle = oracleFor(from, to, traveller);
+        if (oracle != null) {
+            return new Heading(oracle.firstStep(from, to), oracle.distance(from, to));
+        }
+        if (sharesStaticTerrain(from, to)) {
+            return FlowField.towards(target).headingFrom(from);
+        }
+        List<Direction> path = shortestPath(from, to, traveller);
+        if (path == null) {
+            return new Heading(null, DistanceOracle.UNREACHABLE);
+        }
+        if (path.isEmpty()) {
+            return new Heading(null, 0);
+        }
+        return new Heading(path.get(0), path.size());
+    }
+
+    /**
+     * Returns the distance table that can answer a query for a traveller, if
+     * any. The table only describes the terrain as seen by units, so it is not
+     * used when terrain is to be ignored.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller, or <code>null</code> to ignore terrain.
+     * @return The distance table of the board, or <code>null</code> if the
+     *         query has to be answered by a search.
+     */
+    private static DistanceOracle oracleFor(Square from, Square to, Unit traveller) {
+        if (traveller == null || from.getBoard() == null) {
+            return null;
+        }
+        DistanceOracle oracle = from.getBoard().getDistanceOracle();
+        if (oracle == null || !oracle.covers(from) || !oracle.covers(to)) {
+            return null;
+        }
+        return oracle;
+    }
+
+    /**
+     * Determines whether both squares are placed on the same board, in which
+     * case the array based {@link BreadthFirstSearch} can be used.
+     *
+     * @param from
+     *            The first square.
+     * @param to
+     *            The second square.
+     * @return <code>true</code> iff both squares are on the same board.
+     */
+    private static boolean onSameBoard(Square from, Square to) {
+        return from.getBoard() != null && from.getBoard() == to.getBoard();
+    }
+
+    /**
+     * Determines whether both squares are placed on the same board with
+     * static terrain, on which a {@link FlowField} can be used.
+     *
+     * @param from
+     *            The first square.
+     * @param to
+     *            The second square.
+     * @return <code>true</code> iff both squares are on the same board, and
+     *         that board has static terrain.
+     */
+    private static boolean sharesStaticTerrain(Square from, Square to) {
+        return onSameBoard(from, to) && from.getBoard().hasStaticTerrain();
+    }
+
     private static void addNewTargets(Unit traveller, List<Node> targets,
                                       Set<Square> visited, Node node, Square square) {
         for (Direction direction : Direction.values()) {
@@ -72,9 +272,10 @@ public final class Navigation {
     }
 
     /**
-     * Finds the nearest unit of the given type and returns its location. This
-     * method will perform a breadth first search starting from the given
-     * square.
+     * Finds the nearest unit of the given type and returns its location. If
+     * the board holds at most one unit of the type, it is looked up directly.
+     * Otherwise this method will perform a breadth first search starting from
+     * the given square.
      *
      * @param type
      *            The type of unit to search for.
@@ -85,6 +286,28 @@ public final class Navigation {
      */
     public static Unit findNearest(Class<? extends Unit> type,
                                              Square currentLocation) {
+        Board board = currentLocation.getBoard();
+        if (board != null) {
+            if (board.countUnits(type) <= 1) {
+                return board.findUnit(type);
+            }
+            return BreadthFirstSearch.forCurrentThread().nearest(type, currentLocation);
+        }
+        return searchNearest(type, currentLocation);
+    }
+
+    /**
+     * Finds the nearest unit of the given type with a breadth first search
+     * over squares that are not placed on a board.
+     *
+     * @param type
+     *            The type of unit to search for.
+     * @param currentLocation
+     *            The starting location for the search.
+     * @return The nearest unit of the given type, or <code>null</code> if no
+     *         such unit could be found.
+     */
+    private static Unit searchNearest(Class<? extends Unit> type, Square currentLocation) {
         List<Square> toDo = new ArrayList<>();
         Set<Square> visited = new HashSet<>();
 
@@ -111,6 +334,7 @@ public final class Navigation {
     /**
      *  Finds a subtype of Unit in a level.
      *  This method is very useful for finding the ghosts in the parsed map.
+     *  The unit is looked up in the board's registry rather than searched.
      *
      * @param clazz the type to search for.
      * @param board the board to find the unit in.
@@ -119,16 +343,7 @@ public final class Navigation {
      * @return the first unit found of type clazz, or null.
      */
     public static <T extends Unit> T findUnitInBoard(Class<T> clazz, Board board) {
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                final T ghost = Navigation.findUnit(clazz, board.squareAt(x, y));
-                if (ghost != null) {
-                    return ghost;
-                }
-            }
-        }
-
-        return null;
+        return board.findUnit(clazz);
     }
 
     /**
@@ -144,15 +359,10 @@ public final class Navigation {
      * @return A unit of type T, iff such a unit occupies this square, or
      *         <code>null</code> of none does.
      */
-    @SuppressWarnings("unchecked")
     public static <T extends Unit> T findUnit(Class<T> type, Square square) {
-        for (Unit unit : square.getOccupants()) {
-            if (type.isInstance(unit)) {
-                assert unit.hasSquare();
-                return (T) unit;
-            }
-        }
-        return null;
+        T unit = square.findOccupant(type);
+        assert unit == null || unit.hasSquare();
+        return unit;
     }
 
     /**
@@ -233,4 +443,55 @@ public final class Navigation {
             return path;
         }
     }
+
+    /**
+     * The first step and the number of steps of a shortest path.
+     *
+     * @author Jeroen Roosen
+     */
+    static final class Heading {
+
+        /**
+         * The direction of the first step, or <code>null</code> if there is
+         * none.
+         */
+        private final Direction direction;
+
+        /**
+         * The number of steps.
+         */
+        private final int distance;
+
+        /**
+         * Creates a new heading.
+         *
+         * @param direction
+         *            The direction of the first step, or <code>null</code> if
+         *            the destination is the current square or cannot be
+         *            reached.
+         * @param distance
+         *            The number of steps, or
+         *            {@link DistanceOracle#UNREACHABLE}.
+         */
+        Heading(Direction direction, int distance) {
+            this.direction = direction;
+            this.distance = distance;
+        }
+
+        /**
+         * @return The direction of the first step, or <code>null</code> if
+         *         the destination is the current square or cannot be reached.
+         */
+        Direction getDirection() {
+            return direction;
+        }
+
+        /**
+         * @return The number of steps, or {@link DistanceOracle#UNREACHABLE}
+         *         if the destination cannot be reached.
+         */
+        int getDistance() {
+            return distance;
+        }
+    }
 }
@@ -1,9 +1,9 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import nl.tudelft.jpacman.RandomService;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
@@ -70,7 +70,19 @@ public class Pinky extends Ghost {
      *            The sprites for this ghost.
      */
     public Pinky(Map<Direction, Sprite> spriteMap) {
-        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION);
+        this(spriteMap, new RandomService());
+    }
+
+    /**
+     * Creates a new "Pinky", a.k.a. "Speedy".
+     *
+     * @param spriteMap
+     *            The sprites for this ghost.
+     * @param random
+     *            The random numbers of this ghost.
+     */
+    public Pinky(Map<Direction, Sprite> spriteMap, RandomService random) {
+        super(spriteMap, MOVE_INTERVAL, INTERVAL_VARIATION, random);
     }
 
     /**
@@ -98,10 +110,6 @@ public class Pinky extends Ghost {
         assert player.hasSquare();
         Square destination = player.squaresAheadOf(SQUARES_AHEAD);
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), destination, this);
-        if (path != null && !path.isEmpty()) {
-            return Optional.ofNullable(path.get(0));
-        }
-        return Optional.empty();
+        return Optional.ofNullable(Navigation.firstStep(getSquare(), destination, this));
     }
 }
@@ -0,0 +1,264 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+
+/**
+ * A journal written by a {@link JournalRecorder}, read into memory to be
+ * played back by a {@link Replay}.
+ *
+ * @author Jeroen Roosen
+ */
+public final class Journal {
+
+    /**
+     * All directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The resource of the map the game was played on.
+     */
+    private final String map;
+
+    /**
+     * The seed the game was created with.
+     */
+    private final long seed;
+
+    /**
+     * The number of moves between keyframes.
+     */
+    private final int keyframeInterval;
+
+    /**
+     * The number of players in the game.
+     */
+    private final int players;
+
+    /**
+     * The number of ghosts on the map.
+     */
+    private final int ghosts;
+
+    /**
+     * The number of pellets on the map.
+     */
+    private final int pellets;
+
+    /**
+     * The moves, each as the number of the unit shifted left by the
+     * direction bits, plus the ordinal of the direction.
+     */
+    private final int[] moves;
+
+    /**
+     * The keyframes, in order of their ticks.
+     */
+    private final List<Keyframe> keyframes;
+
+    private Journal(String map, long seed, int interval, int[] counts, int[] moves,
+                    List<Keyframe> keyframes) {
+        this.map = map;
+        this.seed = seed;
+        this.keyframeInterval = interval;
+        this.players = counts[0];
+        this.ghosts = counts[1];
+        this.pellets = counts[2];
+        this.moves = moves;
+        this.keyframes = keyframes;
+    }
+
+    /**
+     * Reads a journal. A journal cut off in the middle of a record, e.g. by a
+     * crash of the recording game, is read up to the last complete record.
+     *
+     * @param input
+     *            The stream to read the journal from.
+     * @return The journal.
+     * @throws IOException
+     *             When the stream could not be read or holds no journal.
+     */
+    public static Journal read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        readFormat(in);
+        String map = in.readUTF();
+        long seed = in.readLong();
+        int interval = in.readInt();
+        int[] counts = {in.readInt(), in.readInt(), in.readInt()};
+        for (int count : counts) {
+            if (count < 0) {
+                throw new IOException("Negative unit count: " + count);
+            }
+        }
+        List<Keyframe> keyframes = new ArrayList<>();
+        int[] moves = readRecords(in, counts[0], counts[0] + counts[1], keyframes);
+        return new Journal(map, seed, interval, counts, moves, keyframes);
+    }
+
+    /**
+     * Reads the magic number and the version of a journal.
+     *
+     * @param in
+     *            The input to read from.
+     * @throws IOException
+     *             When the input holds no journal in the current format.
+     */
+    private static void readFormat(DataInput in) throws IOException {
+        if (in.readInt() != JournalFormat.MAGIC) {
+            throw new IOException("Not a JPacman journal.");
+        }
+        int version = in.readUnsignedByte();
+        if (version != JournalFormat.VERSION) {
+            throw new IOException("Unsupported journal version: " + version);
+        }
+    }
+
+    /**
+     * Reads the moves and keyframes following the header, up to the last
+     * complete record.
+     *
+     * @param in
+     *            The input to read from.
+     * @param players
+     *            The number of players of the game.
+     * @param movers
+     *            The number of players and ghosts of the game.
+     * @param keyframes
+     *            The list to add the keyframes read to.
+     * @return The moves read.
+     * @throws IOException
+     *             When the input could not be read or holds a move of a unit
+     *             that the game does not have.
+     */
+    private static int[] readRecords(DataInput in, int players, int movers,
+                                     List<Keyframe> keyframes) throws IOException {
+        int[] moves = new int[JournalRecorder.DEFAULT_KEYFRAME_INTERVAL];
+        int count = 0;
+        try {
+            while (true) {
+                int tag = JournalFormat.readVarInt(in);
+                if (tag == JournalFormat.KEYFRAME) {
+                    keyframes.add(Keyframe.read(in, movers, players));
+                    continue;
+                }
+                int move = tag - 1;
+                if (move >>> JournalFormat.DIRECTION_BITS >= movers) {
+                    throw new IOException("Move of an unknown unit at move " + count);
+                }
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, count * 2);
+                }
+                moves[count++] = move;
+            }
+        } catch (EOFException e) {
+            // The end of the journal, or of what was written of it.
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    /**
+     * @return The resource of the map the game was played on.
+     */
+    public String getMap() {
+        return map;
+    }
+
+    /**
+     * @return The seed the game was created with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The number of moves between keyframes.
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * @return The number of moves recorded.
+     */
+    public int getLength() {
+        return moves.length;
+    }
+
+    /**
+     * @return The number of keyframes recorded.
+     */
+    public int getKeyframeCount() {
+        return keyframes.size();
+    }
+
+    /**
+     * Checks that a game has the units the journal was recorded with.
+     *
+     * @param units
+     *            The units of the game.
+     * @return <code>true</code> iff the game has as many players, ghosts and
+     *         pellets as the recorded game.
+     */
+    boolean matches(UnitIndex units) {
+        return units.getPlayerCount() == players
+            && units.getMoverCount() == players + ghosts
+            && units.getPelletCount() == pellets;
+    }
+
+    /**
+     * Returns the number of the unit making a move.
+     *
+     * @param tick
+     *            The number of moves made before.
+     * @return The number of the unit.
+     */
+    int unitOf(int tick) {
+        return moves[tick] >>> JournalFormat.DIRECTION_BITS;
+    }
+
+    /**
+     * Returns the direction of a move.
+     *
+     * @param tick
+     *            The number of moves made before.
+     * @return The direction of the move.
+     */
+    Direction directionOf(int tick) {
+        return DIRECTIONS[moves[tick] & (1 << JournalFormat.DIRECTION_BITS) - 1];
+    }
+
+    /**
+     * Finds the last keyframe at or before a tick.
+     *
+     * @param tick
+     *            The tick to seek.
+     * @return The keyframe, or <code>null</code> if the first keyframe comes
+     *         after the tick.
+     */
+    Keyframe keyframeAt(int tick) {
+        int low = 0;
+        int high = keyframes.size() - 1;
+        Keyframe result = null;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Keyframe keyframe = keyframes.get(middle);
+            if (keyframe.getTick() <= tick) {
+                result = keyframe;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The constants and encodings of the binary journal format.
+ *
+ * <p>
+ * A journal starts with a header: the magic number, the format version, the
+ * map, the seed of the game and the number of players, ghosts and pellets on
+ * the map. It is followed by records, each starting with a variable length
+ * integer. A zero is followed by a {@link Keyframe}; any other value
+ * <code>v</code> is a move of unit <code>(v - 1) / 4</code> in the direction
+ * with ordinal <code>(v - 1) % 4</code>, so a move of one of the first 31
+ * units takes a single byte.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+final class JournalFormat {
+
+    /**
+     * The first bytes of every journal: "JPRJ".
+     */
+    static final int MAGIC = 0x4a50524a;
+
+    /**
+     * The version of the format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The record tag of a keyframe.
+     */
+    static final int KEYFRAME = 0;
+
+    /**
+     * The number of bits of a move record holding the direction.
+     */
+    static final int DIRECTION_BITS = 2;
+
+    /**
+     * The bits of a variable length integer holding its value.
+     */
+    private static final int VALUE_MASK = 0x7f;
+
+    /**
+     * The bit of a variable length integer marking that more bytes follow.
+     */
+    private static final int MORE = 0x80;
+
+    /**
+     * The number of value bits in every byte of a variable length integer.
+     */
+    private static final int BITS_PER_BYTE = 7;
+
+    private JournalFormat() {
+    }
+
+    /**
+     * Encodes a move as a record tag.
+     *
+     * @param unit
+     *            The number of the unit.
+     * @param direction
+     *            The ordinal of the direction.
+     * @return The tag of the move.
+     */
+    static int moveTag(int unit, int direction) {
+        return (unit << DIRECTION_BITS | direction) + 1;
+    }
+
+    /**
+     * Writes a non-negative integer in as few bytes as possible.
+     *
+     * @param out
+     *            The output to write to.
+     * @param value
+     *            The integer to write.
+     * @throws IOException
+     *             When the integer could not be written.
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        assert value >= 0;
+        int remaining = value;
+        while (remaining > VALUE_MASK) {
+            out.writeByte(remaining & VALUE_MASK | MORE);
+            remaining >>>= BITS_PER_BYTE;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Reads an integer written by {@link #writeVarInt(DataOutput, int)}.
+     *
+     * @param in
+     *            The input to read from.
+     * @return The integer read.
+     * @throws IOException
+     *             When the integer could not be read.
+     */
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int next = in.readUnsignedByte();
+        while ((next & MORE) != 0) {
+            value |= (next & VALUE_MASK) << shift;
+            shift += BITS_PER_BYTE;
+            next = in.readUnsignedByte();
+        }
+        return value | next << shift;
+    }
+}
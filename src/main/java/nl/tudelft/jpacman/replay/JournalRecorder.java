@@ -0,0 +1,254 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Records every move made in a game, by players and ghosts alike, into a
+ * binary journal that a {@link Replay} plays back exactly. A
+ * {@link Keyframe} of the full state is written after every fixed number of
+ * moves, so that a replay can seek without playing all moves before.
+ *
+ * <p>
+ * Moves are recorded in the order in which the level makes them, which is
+ * the only order that matters: the timing of the moves and the random choices
+ * behind them are not needed to reproduce the game.
+ * </p>
+ *
+ * <p>
+ * Moves are reported while the level holds its move lock, so they are only
+ * encoded in memory there. The bytes of every keyframe interval are handed to
+ * a writer thread of the recorder, which does all writing to the stream.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public final class JournalRecorder implements Level.MoveObserver, Closeable {
+
+    /**
+     * The default number of moves between keyframes.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 256;
+
+    /**
+     * The level recorded.
+     */
+    private final Level level;
+
+    /**
+     * The numbers of the units of the game.
+     */
+    private final UnitIndex units;
+
+    /**
+     * The stream the journal is written to, only by the writer.
+     */
+    private final OutputStream output;
+
+    /**
+     * The bytes encoded since they were last handed to the writer.
+     */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    /**
+     * The encoder writing into {@link #pending}.
+     */
+    private final DataOutputStream encoder = new DataOutputStream(pending);
+
+    /**
+     * The single thread writing the encoded bytes to the stream, in order.
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The number of moves between keyframes.
+     */
+    private final int keyframeInterval;
+
+    /**
+     * The number of moves recorded so far.
+     */
+    private int moves;
+
+    /**
+     * The first failure to write the journal, after which nothing more is
+     * written, or <code>null</code>.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Starts recording a game, writing a keyframe every
+     * {@value #DEFAULT_KEYFRAME_INTERVAL} moves.
+     *
+     * Precondition: Nothing moved in the game yet.
+     *
+     * @param game
+     *            The game to record.
+     * @param map
+     *            The resource of the map the game was created from.
+     * @param seed
+     *            The seed the game was created with.
+     * @param output
+     *            The stream to write the journal to, which is closed with
+     *            this recorder.
+     * @throws IOException
+     *             When the header of the journal could not be written.
+     */
+    public JournalRecorder(Game game, String map, long seed, OutputStream output)
+        throws IOException {
+        this(game, map, seed, output, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Starts recording a game.
+     *
+     * Precondition: Nothing moved in the game yet.
+     *
+     * @param game
+     *            The game to record.
+     * @param map
+     *            The resource of the map the game was created from.
+     * @param seed
+     *            The seed the game was created with.
+     * @param output
+     *            The stream to write the journal to, which is closed with
+     *            this recorder.
+     * @param interval
+     *            The number of moves between keyframes.
+     * @throws IOException
+     *             When the header of the journal could not be written.
+     */
+    public JournalRecorder(Game game, String map, long seed, OutputStream output, int interval)
+        throws IOException {
+        assert interval > 0;
+        this.level = game.getLevel();
+        this.units = new UnitIndex(game);
+        this.output = output;
+        this.keyframeInterval = interval;
+
+        encoder.writeInt(JournalFormat.MAGIC);
+        encoder.writeByte(JournalFormat.VERSION);
+        encoder.writeUTF(map);
+        encoder.writeLong(seed);
+        encoder.writeInt(interval);
+        encoder.writeInt(units.getPlayerCount());
+        encoder.writeInt(units.getMoverCount() - units.getPlayerCount());
+        encoder.writeInt(units.getPelletCount());
+        output.write(pending.toByteArray());
+        pending.reset();
+        level.addMoveObserver(this);
+    }
+
+    @Override
+    public synchronized void unitMoved(Unit unit, Direction direction) {
+        int number = units.numberOf(unit);
+        assert number >= 0 && number < units.getMoverCount();
+        try {
+            JournalFormat.writeVarInt(encoder, JournalFormat.moveTag(number, direction.ordinal()));
+            moves++;
+            if (moves % keyframeInterval == 0) {
+                JournalFormat.writeVarInt(encoder, JournalFormat.KEYFRAME);
+                Keyframe.capture(moves, units).write(encoder);
+                handOff();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Hands the bytes encoded so far to the writer.
+     */
+    private void handOff() {
+        if (pending.size() == 0) {
+            return;
+        }
+        byte[] chunk = pending.toByteArray();
+        pending.reset();
+        writer.execute(() -> write(chunk));
+    }
+
+    /**
+     * Writes encoded bytes to the stream, unless writing failed before.
+     *
+     * @param chunk
+     *            The bytes to write.
+     */
+    private void write(byte[] chunk) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            output.write(chunk);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Records a failure to write the journal, unless one was recorded before.
+     *
+     * @param cause
+     *            The failure.
+     */
+    private synchronized void fail(IOException cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+    }
+
+    /**
+     * Returns the number of moves recorded so far.
+     *
+     * @return The number of moves.
+     */
+    public synchronized int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Stops recording, waits for the writer to write all moves recorded and
+     * closes the journal.
+     *
+     * @throws IOException
+     *             When any part of the journal could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        level.removeMoveObserver(this);
+        synchronized (this) {
+            handOff();
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing the journal.");
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
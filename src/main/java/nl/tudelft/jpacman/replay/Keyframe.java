@@ -0,0 +1,277 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * The full state of a game after a number of moves: the square and direction
+ * of every mover, the lives and scores of the players and the pellets left.
+ * Restoring a keyframe on a fresh game of the same map puts the game in the
+ * same state, including the order of the occupants of every square, so the
+ * moves that follow have the same outcome.
+ *
+ * @author Jeroen Roosen
+ */
+final class Keyframe {
+
+    /**
+     * All directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The number of moves made before this keyframe.
+     */
+    private final int tick;
+
+    /**
+     * The square index of every mover, or <code>-1</code> if it is not on the
+     * board.
+     */
+    private final int[] squares;
+
+    /**
+     * The direction of every mover, as an ordinal.
+     */
+    private final byte[] directions;
+
+    /**
+     * The movers on the board, in the order in which they are to occupy their
+     * squares.
+     */
+    private final int[] order;
+
+    /**
+     * Whether every player is alive.
+     */
+    private final boolean[] alive;
+
+    /**
+     * The score of every player.
+     */
+    private final int[] scores;
+
+    /**
+     * The pellets still on the board.
+     */
+    private final BitSet pellets;
+
+    private Keyframe(int tick, int[] squares, byte[] directions, int[] order, boolean[] alive,
+                     int[] scores, BitSet pellets) {
+        this.tick = tick;
+        this.squares = squares;
+        this.directions = directions;
+        this.order = order;
+        this.alive = alive;
+        this.scores = scores;
+        this.pellets = pellets;
+    }
+
+    /**
+     * Captures the state of a game.
+     *
+     * Precondition: No unit moves during the capture.
+     *
+     * @param tick
+     *            The number of moves made so far.
+     * @param units
+     *            The units of the game.
+     * @return The keyframe.
+     */
+    static Keyframe capture(int tick, UnitIndex units) {
+        int movers = units.getMoverCount();
+        int[] squares = new int[movers];
+        byte[] directions = new byte[movers];
+        int[] positions = new int[movers];
+        for (int i = 0; i < movers; i++) {
+            Unit unit = units.get(i);
+            directions[i] = (byte) unit.getDirection().ordinal();
+            squares[i] = -1;
+            if (unit.hasSquare()) {
+                Square square = unit.getSquare();
+                squares[i] = square.getIndex();
+                positions[i] = square.getOccupants().indexOf(unit);
+            }
+        }
+
+        int players = units.getPlayerCount();
+        boolean[] alive = new boolean[players];
+        int[] scores = new int[players];
+        for (int i = 0; i < players; i++) {
+            Player player = (Player) units.get(i);
+            alive[i] = player.isAlive();
+            scores[i] = player.getScore();
+        }
+        return new Keyframe(tick, squares, directions, occupationOrder(squares, positions),
+            alive, scores, remainingPellets(units));
+    }
+
+    /**
+     * Orders the movers on the board by square, and the movers on the same
+     * square by their position among its occupants.
+     *
+     * @param squares
+     *            The square index of every mover, or <code>-1</code> if it
+     *            is not on the board.
+     * @param positions
+     *            The position of every mover among the occupants of its
+     *            square.
+     * @return The movers on the board, in the order in which they are to
+     *         occupy their squares.
+     */
+    private static int[] occupationOrder(int[] squares, int[] positions) {
+        List<Integer> placed = new ArrayList<>();
+        for (int i = 0; i < squares.length; i++) {
+            if (squares[i] >= 0) {
+                placed.add(i);
+            }
+        }
+        placed.sort(Comparator.<Integer>comparingInt(i -> squares[i])
+            .thenComparingInt(i -> positions[i]));
+        int[] order = new int[placed.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = placed.get(i);
+        }
+        return order;
+    }
+
+    /**
+     * Finds the pellets still on the board.
+     *
+     * @param units
+     *            The units of the game.
+     * @return The set of the numbers, counted from the first pellet, of the
+     *         pellets on the board.
+     */
+    private static BitSet remainingPellets(UnitIndex units) {
+        int movers = units.getMoverCount();
+        BitSet pellets = new BitSet(units.getPelletCount());
+        for (int i = 0; i < units.getPelletCount(); i++) {
+            if (units.get(movers + i).hasSquare()) {
+                pellets.set(i);
+            }
+        }
+        return pellets;
+    }
+
+    /**
+     * @return The number of moves made before this keyframe.
+     */
+    int getTick() {
+        return tick;
+    }
+
+    /**
+     * Puts a game in the state of this keyframe.
+     *
+     * Precondition: The game is fresh, i.e. nothing moved, and created from
+     * the map this keyframe was captured on.
+     *
+     * @param units
+     *            The units of the game.
+     * @param board
+     *            The board of the game.
+     */
+    void restore(UnitIndex units, Board board) {
+        int movers = units.getMoverCount();
+        for (int i = 0; i < movers; i++) {
+            Unit unit = units.get(i);
+            unit.leaveSquare();
+            unit.setDirection(DIRECTIONS[directions[i]]);
+        }
+        for (int i = 0; i < units.getPelletCount(); i++) {
+            if (!pellets.get(i)) {
+                units.get(movers + i).leaveSquare();
+            }
+        }
+        for (int mover : order) {
+            units.get(mover).occupy(board.squareAt(squares[mover]));
+        }
+        for (int i = 0; i < units.getPlayerCount(); i++) {
+            Player player = (Player) units.get(i);
+            player.addPoints(scores[i] - player.getScore());
+            if (player.isAlive() != alive[i]) {
+                player.setAlive(alive[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes this keyframe.
+     *
+     * @param out
+     *            The output to write to.
+     * @throws IOException
+     *             When the keyframe could not be written.
+     */
+    void write(DataOutput out) throws IOException {
+        JournalFormat.writeVarInt(out, tick);
+        for (int i = 0; i < squares.length; i++) {
+            out.writeInt(squares[i]);
+            out.writeByte(directions[i]);
+        }
+        JournalFormat.writeVarInt(out, order.length);
+        for (int mover : order) {
+            JournalFormat.writeVarInt(out, mover);
+        }
+        for (int i = 0; i < alive.length; i++) {
+            out.writeBoolean(alive[i]);
+            out.writeInt(scores[i]);
+        }
+        long[] words = pellets.toLongArray();
+        JournalFormat.writeVarInt(out, words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a keyframe written by {@link #write(DataOutput)}.
+     *
+     * @param in
+     *            The input to read from.
+     * @param movers
+     *            The number of movers of the game.
+     * @param players
+     *            The number of players of the game.
+     * @return The keyframe.
+     * @throws IOException
+     *             When the keyframe could not be read.
+     */
+    static Keyframe read(DataInput in, int movers, int players) throws IOException {
+        int tick = JournalFormat.readVarInt(in);
+        int[] squares = new int[movers];
+        byte[] directions = new byte[movers];
+        for (int i = 0; i < movers; i++) {
+            squares[i] = in.readInt();
+            directions[i] = in.readByte();
+        }
+        int[] order = new int[JournalFormat.readVarInt(in)];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = JournalFormat.readVarInt(in);
+        }
+        boolean[] alive = new boolean[players];
+        int[] scores = new int[players];
+        for (int i = 0; i < players; i++) {
+            alive[i] = in.readBoolean();
+            scores[i] = in.readInt();
+        }
+        long[] words = new long[JournalFormat.readVarInt(in)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return new Keyframe(tick, squares, directions, order, alive, scores,
+            BitSet.valueOf(words));
+    }
+}
@@ -0,0 +1,148 @@
+package nl.tudelft.jpacman.replay;
+
+import nl.tudelft.jpacman.HeadlessLauncher;
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+
+/**
+ * Plays back a {@link Journal} on a fresh, headless game of the recorded map.
+ * The recorded moves are made one after the other as fast as possible, with
+ * the NPCs held still by a scheduler that is never advanced, so the game goes
+ * through exactly the states of the recorded game.
+ *
+ * <p>
+ * Seeking to a move starts from the last keyframe before it, so it takes at
+ * most one keyframe interval of moves, wherever the move is in the journal.
+ * </p>
+ *
+ * @author Jeroen Roosen
+ */
+public final class Replay {
+
+    /**
+     * The journal played back.
+     */
+    private final Journal journal;
+
+    /**
+     * The game the journal is played back on.
+     */
+    private Game game;
+
+    /**
+     * The numbers of the units of the game.
+     */
+    private UnitIndex units;
+
+    /**
+     * The number of moves played back so far.
+     */
+    private int tick;
+
+    /**
+     * Creates a new replay, positioned before the first move.
+     *
+     * @param recording
+     *            The journal to play back.
+     */
+    public Replay(Journal recording) {
+        this.journal = recording;
+        reset();
+    }
+
+    /**
+     * Replaces the game by a fresh game of the recorded map.
+     */
+    private void reset() {
+        if (game != null) {
+            game.stop();
+        }
+        HeadlessLauncher launcher = new HeadlessLauncher()
+            .withNpcScheduler(new VirtualNpcScheduler());
+        launcher.withMapFile(journal.getMap());
+        launcher.withSeed(journal.getSeed());
+        game = launcher.makeGame();
+        units = new UnitIndex(game);
+        if (!journal.matches(units)) {
+            throw new PacmanConfigurationException(
+                "The journal does not match the map " + journal.getMap());
+        }
+        tick = 0;
+        game.start();
+    }
+
+    /**
+     * @return The game the journal is played back on. Seeking backwards
+     *         replaces the game.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * @return The number of moves played back so far.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * @return <code>true</code> iff all moves have been played back.
+     */
+    public boolean isFinished() {
+        return tick == journal.getLength();
+    }
+
+    /**
+     * Plays back the next move.
+     *
+     * Precondition: The replay is not finished.
+     */
+    public void step() {
+        assert !isFinished();
+        Unit unit = units.get(journal.unitOf(tick));
+        if (unit instanceof Player) {
+            game.move((Player) unit, journal.directionOf(tick));
+        } else {
+            game.getLevel().move(unit, journal.directionOf(tick));
+        }
+        tick++;
+    }
+
+    /**
+     * Plays back all remaining moves.
+     */
+    public void finish() {
+        while (!isFinished()) {
+            step();
+        }
+    }
+
+    /**
+     * Puts the game in the state it was in after the given number of moves.
+     *
+     * @param target
+     *            The number of moves to have played back.
+     */
+    public void seek(int target) {
+        assert target >= 0 && target <= journal.getLength();
+        Keyframe keyframe = journal.keyframeAt(target);
+        int start = 0;
+        if (keyframe != null) {
+            start = keyframe.getTick();
+        }
+        if (target < tick || start > tick) {
+            reset();
+            if (keyframe != null) {
+                keyframe.restore(units, game.getLevel().getBoard());
+                tick = start;
+            }
+        }
+        while (tick < target) {
+            step();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package nl.tudelft.jpacman.replay;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+
+/**
+ * Numbers the units of a game the same way for every game created from the
+ * same map: first the players, then the ghosts and last the pellets, each in
+ * the order in which they were placed on the board. The players and ghosts are
+ * the movers of the game.
+ *
+ * Precondition: The index is created before anything moved.
+ *
+ * @author Jeroen Roosen
+ */
+final class UnitIndex {
+
+    /**
+     * The units, by number.
+     */
+    private final List<Unit> units = new ArrayList<>();
+
+    /**
+     * The number of every unit.
+     */
+    private final Map<Unit, Integer> numbers = new IdentityHashMap<>();
+
+    /**
+     * The number of players.
+     */
+    private final int players;
+
+    /**
+     * The number of players and ghosts.
+     */
+    private final int movers;
+
+    /**
+     * Numbers the units of a game.
+     *
+     * @param game
+     *            The game whose units to number.
+     */
+    UnitIndex(Game game) {
+        Board board = game.getLevel().getBoard();
+        List<Player> participants = game.getPlayers();
+        List<Ghost> ghosts = board.findUnits(Ghost.class);
+        List<Pellet> pellets = board.findUnits(Pellet.class);
+        this.players = participants.size();
+        this.movers = players + ghosts.size();
+        for (Unit unit : participants) {
+            add(unit);
+        }
+        for (Unit unit : ghosts) {
+            add(unit);
+        }
+        for (Unit unit : pellets) {
+            add(unit);
+        }
+    }
+
+    private void add(Unit unit) {
+        numbers.put(unit, units.size());
+        units.add(unit);
+    }
+
+    /**
+     * @return The number of players, numbered from zero.
+     */
+    int getPlayerCount() {
+        return players;
+    }
+
+    /**
+     * @return The number of players and ghosts, numbered from zero.
+     */
+    int getMoverCount() {
+        return movers;
+    }
+
+    /**
+     * @return The number of pellets, numbered after the movers.
+     */
+    int getPelletCount() {
+        return units.size() - movers;
+    }
+
+    /**
+     * Returns the unit with the given number.
+     *
+     * @param number
+     *            The number of the unit.
+     * @return The unit.
+     */
+    Unit get(int number) {
+        return units.get(number);
+    }
+
+    /**
+     * Returns the number of a unit.
+     *
+     * @param unit
+     *            The unit.
+     * @return The number of the unit, or <code>-1</code> if it was not on the
+     *         board when the index was created.
+     */
+    int numberOf(Unit unit) {
+        Integer number = numbers.get(unit);
+        if (number == null) {
+            return -1;
+        }
+        return number;
+    }
+}
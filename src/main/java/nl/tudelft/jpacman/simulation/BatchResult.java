@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The outcomes of a batch of simulated games, with their averages.
+ *
+ * @author Jeroen Roosen
+ */
+public final class BatchResult {
+
+    /**
+     * The outcome of every game, in order of seed.
+     */
+    private final List<GameResult> games;
+
+    /**
+     * Creates a new batch result.
+     *
+     * @param games
+     *            The outcome of every game.
+     */
+    public BatchResult(List<GameResult> games) {
+        this.games = ImmutableList.copyOf(games);
+    }
+
+    /**
+     * @return The outcome of every game, in order of seed.
+     */
+    public List<GameResult> getGames() {
+        return games;
+    }
+
+    /**
+     * @return The number of games played.
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * @return The number of games in which all pellets were eaten.
+     */
+    public int getWins() {
+        return (int) games.stream().filter(GameResult::isWon).count();
+    }
+
+    /**
+     * @return The average final score, or 0 if no games were played.
+     */
+    public double getAverageScore() {
+        return games.stream().mapToInt(GameResult::getScore).average().orElse(0);
+    }
+
+    /**
+     * @return The average simulated time in milliseconds a game lasted, or 0
+     *         if no games were played.
+     */
+    public double getAverageSurvivalTime() {
+        return games.stream().mapToLong(GameResult::getSurvivalTime).average().orElse(0);
+    }
+
+    /**
+     * @return The average number of pellets eaten, or 0 if no games were
+     *         played.
+     */
+    public double getAveragePelletsEaten() {
+        return games.stream().mapToInt(GameResult::getPelletsEaten).average().orElse(0);
+    }
+}
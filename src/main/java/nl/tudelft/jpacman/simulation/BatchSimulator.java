@@ -0,0 +1,218 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import nl.tudelft.jpacman.HeadlessLauncher;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelSimulator;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+
+/**
+ * Plays many independent single player games on the same map at once, each
+ * on its own {@link LevelSimulator} without any sprites or threads of its own,
+ * and aggregates their outcomes. The games are spread over the workers of a
+ * fork/join pool.
+ *
+ * @author Jeroen Roosen
+ */
+public class BatchSimulator {
+
+    /**
+     * The default simulated time between two moves of the player.
+     */
+    public static final long DEFAULT_PLAYER_INTERVAL = 200L;
+
+    /**
+     * The default simulated time after which a game is ended.
+     */
+    public static final long DEFAULT_TIME_LIMIT = 600_000L;
+
+    /**
+     * The resource name of the map to play.
+     */
+    private final String map;
+
+    /**
+     * The policy deciding the moves of the player.
+     */
+    private final PlayerPolicy policy;
+
+    /**
+     * The pool playing the games.
+     */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * The simulated time between two moves of the player.
+     */
+    private long playerInterval = DEFAULT_PLAYER_INTERVAL;
+
+    /**
+     * The simulated time after which a game is ended.
+     */
+    private long timeLimit = DEFAULT_TIME_LIMIT;
+
+    /**
+     * Whether the levels queue their moves and apply them once per step.
+     */
+    private boolean queuedMoves;
+
+    /**
+     * Creates a new batch simulator.
+     *
+     * @param map
+     *            The resource name of the map to play, as accepted by the
+     *            {@link nl.tudelft.jpacman.level.MapParser}.
+     * @param policy
+     *            The policy deciding the moves of the player.
+     */
+    public BatchSimulator(String map, PlayerPolicy policy) {
+        assert map != null;
+        assert policy != null;
+
+        this.map = map;
+        this.policy = policy;
+    }
+
+    /**
+     * Sets the pool playing the games, which is the common pool by default.
+     *
+     * @param forkJoinPool
+     *            The pool to use.
+     * @return This simulator.
+     */
+    public BatchSimulator withPool(ForkJoinPool forkJoinPool) {
+        assert forkJoinPool != null;
+        this.pool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * Sets the simulated time between two moves of the player.
+     *
+     * @param interval
+     *            The interval in milliseconds.
+     * @return This simulator.
+     */
+    public BatchSimulator withPlayerInterval(long interval) {
+        assert interval > 0;
+        this.playerInterval = interval;
+        return this;
+    }
+
+    /**
+     * Sets the simulated time after which a game that is still in progress is
+     * ended.
+     *
+     * @param limit
+     *            The time limit in milliseconds.
+     * @return This simulator.
+     */
+    public BatchSimulator withTimeLimit(long limit) {
+        assert limit > 0;
+        this.timeLimit = limit;
+        return this;
+    }
+
+    /**
+     * Sets whether the levels {@link Level#queueMoves(java.util.concurrent.Executor)
+     * queue their moves}, in which case all moves made during a step of the
+     * simulation are applied as one batch at the end of the step.
+     *
+     * @param queued
+     *            <code>true</code> to queue the moves.
+     * @return This simulator.
+     */
+    public BatchSimulator withQueuedMoves(boolean queued) {
+        this.queuedMoves = queued;
+        return this;
+    }
+
+    /**
+     * Plays a game for each of a range of seeds, in parallel.
+     *
+     * @param firstSeed
+     *            The seed of the first game.
+     * @param games
+     *            The number of games to play, with consecutive seeds.
+     * @return The outcomes of the games.
+     */
+    public BatchResult run(long firstSeed, int games) {
+        assert games >= 0;
+
+        List<GameResult> results = pool.submit(() -> LongStream
+            .range(firstSeed, firstSeed + games)
+            .parallel()
+            .mapToObj(this::play)
+            .collect(Collectors.toList())).join();
+        return new BatchResult(results);
+    }
+
+    /**
+     * Plays a single game on the current thread. Games with the same seed
+     * are played exactly the same.
+     *
+     * @param seed
+     *            The seed of the random numbers of the ghosts and of the
+     *            random generator handed to the policy.
+     * @return The outcome of the game.
+     */
+    public GameResult play(long seed) {
+        VirtualNpcScheduler scheduler = new VirtualNpcScheduler();
+        Queue<Runnable> batches = new ArrayDeque<>();
+        Game game = makeGame(seed, scheduler, batches);
+        Level level = game.getLevel();
+        Player player = game.getPlayers().get(0);
+        LevelSimulator simulator = new LevelSimulator(level, scheduler, playerInterval);
+        Random random = new Random(seed);
+        int pellets = level.remainingPellets();
+
+        game.start();
+        while (game.isInProgress() && simulator.getTime() < timeLimit) {
+            Direction direction = policy.nextMove(level, player, random);
+            if (direction != null) {
+                game.move(player, direction);
+            }
+            simulator.step();
+            while (!batches.isEmpty()) {
+                batches.poll().run();
+            }
+        }
+        game.stop();
+
+        int remaining = level.remainingPellets();
+        return new GameResult(seed, player.getScore(), simulator.getTime(),
+            pellets - remaining, remaining == 0);
+    }
+
+    /**
+     * Creates a game on the map of this simulator.
+     *
+     * @param seed
+     *            The seed of the random numbers of the ghosts.
+     * @param scheduler
+     *            The scheduler to drive the ghosts.
+     * @param batches
+     *            The queue to add the batches of moves to, if moves are
+     *            queued.
+     * @return The game, not yet started.
+     */
+    private Game makeGame(long seed, VirtualNpcScheduler scheduler, Queue<Runnable> batches) {
+        HeadlessLauncher launcher = new HeadlessLauncher().withNpcScheduler(scheduler);
+        if (queuedMoves) {
+            launcher.withMoveExecutor(batches::add);
+        }
+        launcher.withMapFile(map);
+        launcher.withSeed(seed);
+        return launcher.makeGame();
+    }
+}
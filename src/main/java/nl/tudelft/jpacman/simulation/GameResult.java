@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.simulation;
+
+/**
+ * The outcome of a single simulated game.
+ *
+ * @author Jeroen Roosen
+ */
+public final class GameResult {
+
+    /**
+     * The seed the game was played with.
+     */
+    private final long seed;
+
+    /**
+     * The final score of the player.
+     */
+    private final int score;
+
+    /**
+     * The simulated time in milliseconds the game lasted.
+     */
+    private final long survivalTime;
+
+    /**
+     * The number of pellets eaten.
+     */
+    private final int pelletsEaten;
+
+    /**
+     * <code>true</code> iff all pellets were eaten.
+     */
+    private final boolean won;
+
+    /**
+     * Creates a new game result.
+     *
+     * @param seed
+     *            The seed the game was played with.
+     * @param score
+     *            The final score of the player.
+     * @param survivalTime
+     *            The simulated time in milliseconds the game lasted.
+     * @param pelletsEaten
+     *            The number of pellets eaten.
+     * @param won
+     *            <code>true</code> iff all pellets were eaten.
+     */
+    public GameResult(long seed, int score, long survivalTime, int pelletsEaten, boolean won) {
+        this.seed = seed;
+        this.score = score;
+        this.survivalTime = survivalTime;
+        this.pelletsEaten = pelletsEaten;
+        this.won = won;
+    }
+
+    /**
+     * @return The seed the game was played with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The final score of the player.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return The simulated time in milliseconds the game lasted.
+     */
+    public long getSurvivalTime() {
+        return survivalTime;
+    }
+
+    /**
+     * @return The number of pellets eaten.
+     */
+    public int getPelletsEaten() {
+        return pelletsEaten;
+    }
+
+    /**
+     * @return <code>true</code> iff all pellets were eaten.
+     */
+    public boolean isWon() {
+        return won;
+    }
+}
@@ -0,0 +1,29 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.Random;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Decides the moves of a simulated player.
+ *
+ * @author Jeroen Roosen
+ */
+public interface PlayerPolicy {
+
+    /**
+     * Decides the next move of a player, once every simulation step.
+     *
+     * @param level
+     *            The level being played.
+     * @param player
+     *            The player to move, which occupies a square.
+     * @param random
+     *            The random generator of the simulated game, seeded with its
+     *            seed.
+     * @return The direction to move in, or <code>null</code> to stand still.
+     */
+    Direction nextMove(Level level, Player player, Random random);
+}
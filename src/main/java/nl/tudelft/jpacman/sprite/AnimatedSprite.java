@@ -41,7 +41,13 @@ public class AnimatedSprite implements Sprite {
     private boolean animating;
 
     /**
-     * The {@link System#currentTimeMillis()} stamp of the last update.
+     * The clock the frames are picked by.
+     */
+    private final AnimationClock clock;
+
+    /**
+     * The time of the last update, which is when the current frame was due
+     * while animating.
      */
     private long lastUpdate;
 
@@ -73,15 +79,37 @@ public class AnimatedSprite implements Sprite {
      *            Whether or not this sprite is animating from the start.
      */
     public AnimatedSprite(Sprite[] frames, int delay, boolean loop, boolean isAnimating) {
+        this(frames, delay, loop, isAnimating, AnimationClock.SYSTEM);
+    }
+
+    /**
+     * Creates a new animating sprite that will change frames every interval
+     * of the given clock.
+     *
+     * @param frames
+     *            The frames of this animation.
+     * @param delay
+     *            The delay between frames.
+     * @param loop
+     *            Whether or not this sprite should be looping.
+     * @param isAnimating
+     *            Whether or not this sprite is animating from the start.
+     * @param animationClock
+     *            The clock to pick the frames by.
+     */
+    public AnimatedSprite(Sprite[] frames, int delay, boolean loop, boolean isAnimating,
+                          AnimationClock animationClock) {
         assert frames.length > 0;
+        assert animationClock != null;
 
         this.animationFrames = frames.clone();
         this.animationDelay = delay;
         this.looping = loop;
         this.animating = isAnimating;
+        this.clock = animationClock;
 
         this.current = 0;
-        this.lastUpdate = System.currentTimeMillis();
+        this.lastUpdate = clock.now();
     }
 
     /**
@@ -112,7 +140,7 @@ public class AnimatedSprite implements Sprite {
      */
     public void restart() {
         this.current = 0;
-        this.lastUpdate = System.currentTimeMillis();
+        this.lastUpdate = clock.now();
         setAnimating(true);
     }
 
@@ -129,22 +157,30 @@ public class AnimatedSprite implements Sprite {
     }
 
     /**
-     * Updates the current frame index depending on the current system time.
+     * Updates the current frame index depending on the time of the clock. The
+     * frames due since the last update are skipped in one step, so a long
+     * pause costs no more than a single frame.
      */
     private void update() {
-        long now = System.currentTimeMillis();
-        if (animating) {
-            while (lastUpdate < now) {
-                lastUpdate += animationDelay;
-                current++;
-                if (looping) {
-                    current %= animationFrames.length;
-                } else if (current == animationFrames.length) {
-                    animating = false;
-                }
-            }
-        } else {
+        long now = clock.now();
+        if (!animating) {
             lastUpdate = now;
+            return;
+        }
+        if (lastUpdate >= now) {
+            return;
+        }
+        long delay = Math.max(animationDelay, 1);
+        long steps = (now - lastUpdate + delay - 1) / delay;
+        lastUpdate += steps * delay;
+        long frame = current + steps;
+        if (looping) {
+            current = (int) (frame % animationFrames.length);
+        } else if (frame >= animationFrames.length) {
+            current = animationFrames.length;
+            animating = false;
+        } else {
+            current = (int) frame;
         }
     }
 
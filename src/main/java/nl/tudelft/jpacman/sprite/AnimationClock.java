@@ -0,0 +1,22 @@
+package nl.tudelft.jpacman.sprite;
+
+/**
+ * The source of the time {@link AnimatedSprite}s pick their frame by.
+ *
+ * @author Jeroen Roosen
+ */
+@FunctionalInterface
+public interface AnimationClock {
+
+    /**
+     * A clock reading the system time on every call.
+     */
+    AnimationClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Returns the current animation time.
+     *
+     * @return The time in milliseconds.
+     */
+    long now();
+}
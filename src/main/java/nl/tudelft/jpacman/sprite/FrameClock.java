@@ -0,0 +1,65 @@
+package nl.tudelft.jpacman.sprite;
+
+/**
+ * An {@link AnimationClock} that only moves when it is told to, typically
+ * once at the start of every frame. All sprites drawn in the same frame
+ * therefore agree on the time without reading the system clock themselves,
+ * and a clock that is never moved stops all animation, which suits games that
+ * are never drawn as well as tests and replays that set the time themselves.
+ *
+ * @author Jeroen Roosen
+ */
+public final class FrameClock implements AnimationClock {
+
+    /**
+     * The clock ticked by the board renderers, used by default for the
+     * sprites of a {@link SpriteStore}.
+     */
+    private static final FrameClock INSTANCE = new FrameClock(System.currentTimeMillis());
+
+    /**
+     * The time of the current frame.
+     */
+    private volatile long time;
+
+    /**
+     * Creates a new clock.
+     *
+     * @param start
+     *            The time to start at, in milliseconds.
+     */
+    public FrameClock(long start) {
+        this.time = start;
+    }
+
+    /**
+     * Returns the clock shared by the renderers of the user interface.
+     *
+     * @return The shared clock.
+     */
+    public static FrameClock getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Moves this clock to the system time, for a new frame.
+     */
+    public void tick() {
+        time = System.currentTimeMillis();
+    }
+
+    /**
+     * Moves this clock to the given time.
+     *
+     * @param newTime
+     *            The time in milliseconds.
+     */
+    public void setTime(long newTime) {
+        time = newTime;
+    }
+
+    @Override
+    public long now() {
+        return time;
+    }
+}
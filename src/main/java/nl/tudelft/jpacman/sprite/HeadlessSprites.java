@@ -0,0 +1,36 @@
+package nl.tudelft.jpacman.sprite;
+
+/**
+ * Sprite store for games that are never drawn, e.g. simulations on a server.
+ * Every sprite is an {@link EmptySprite}, so no images are decoded and AWT is
+ * never initialised, while all units still get the sprites they expect. The
+ * animations run on a clock that never moves, so they never change frames.
+ *
+ * @author Jeroen Roosen
+ */
+public class HeadlessSprites extends PacManSprites {
+
+    /**
+     * The sprite returned for every resource.
+     */
+    private static final Sprite EMPTY = new EmptySprite();
+
+    /**
+     * Creates a new store for games that are never drawn.
+     */
+    public HeadlessSprites() {
+        super(new FrameClock(0L));
+    }
+
+    /**
+     * Returns an empty sprite instead of loading the resource.
+     *
+     * @param resource
+     *            The resource path, which is ignored.
+     * @return An empty sprite.
+     */
+    @Override
+    public Sprite loadSprite(String resource) {
+        return EMPTY;
+    }
+}
@@ -19,6 +19,12 @@ public class ImageSprite implements Sprite {
      */
     private final Image image;
 
+    /**
+     * The cache of scaled copies of this sprite, or <code>null</code> to scale
+     * the image whenever it is drawn.
+     */
+    private final ScaledSpriteCache scaledCopies;
+
     /**
      * Creates a new sprite from an image.
      *
@@ -26,11 +32,30 @@ public class ImageSprite implements Sprite {
      *            The image to create a sprite from.
      */
     public ImageSprite(Image img) {
+        this(img, null);
+    }
+
+    /**
+     * Creates a new sprite from an image, drawn from scaled copies.
+     *
+     * @param img
+     *            The image to create a sprite from.
+     * @param cache
+     *            The cache of scaled copies, which is shared with the sprites
+     *            split from this one, or <code>null</code> to scale the image
+     *            whenever it is drawn.
+     */
+    ImageSprite(Image img, ScaledSpriteCache cache) {
         this.image = img;
+        this.scaledCopies = cache;
     }
 
     @Override
     public void draw(Graphics graphics, int x, int y, int width, int height) {
+        if (scaledCopies != null && width > 0 && height > 0) {
+            graphics.drawImage(scaledCopies.get(this, image, width, height), x, y, null);
+            return;
+        }
         graphics.drawImage(image, x, y, x + width, y + height, 0, 0,
             image.getWidth(null), image.getHeight(null), null);
     }
@@ -41,7 +66,7 @@ public class ImageSprite implements Sprite {
             BufferedImage newImage = newImage(width, height);
             newImage.createGraphics().drawImage(image, 0, 0, width, height, x,
                 y, x + width, y + height, null);
-            return new ImageSprite(newImage);
+            return new ImageSprite(newImage, scaledCopies);
         }
         return new EmptySprite();
     }
@@ -53,7 +78,8 @@ public class ImageSprite implements Sprite {
 
     /**
      * Creates a new, empty image of the given width and height. Its
-     * transparency will be a bitmask, so no try ARGB image.
+     * transparency will be a bitmask, so no try ARGB image. Without a screen
+     * to be compatible with, a plain ARGB image is created instead.
      *
      * @param width
      *            The width of the new image.
@@ -62,6 +88,9 @@ public class ImageSprite implements Sprite {
      * @return The new, empty image.
      */
     private BufferedImage newImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
         GraphicsConfiguration gc = GraphicsEnvironment
             .getLocalGraphicsEnvironment().getDefaultScreenDevice()
             .getDefaultConfiguration();
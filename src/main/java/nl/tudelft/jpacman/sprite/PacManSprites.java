@@ -51,6 +51,24 @@ public class PacManSprites extends SpriteStore {
      */
     private static final int ANIMATION_DELAY = 200;
 
+    /**
+     * Creates a store animating its sprites by the {@link FrameClock} shared
+     * by the user interface.
+     */
+    public PacManSprites() {
+        super();
+    }
+
+    /**
+     * Creates a store animating its sprites by the given clock.
+     *
+     * @param clock
+     *            The clock to animate the sprites by.
+     */
+    public PacManSprites(AnimationClock clock) {
+        super(clock);
+    }
+
     /**
      * @return A map of animated Pac-Man sprites for all directions.
      */
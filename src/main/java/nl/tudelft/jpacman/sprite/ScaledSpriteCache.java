@@ -0,0 +1,129 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copies of sprite images scaled to the size they are drawn at, so that
+ * drawing a sprite is an unscaled copy of a display-compatible image. As all
+ * cells of a board have the same size, only copies of a single size are
+ * kept: drawing at another size, e.g. after the window was resized, evicts
+ * all copies. The least recently drawn copies are evicted beyond
+ * {@value #CAPACITY} copies.
+ *
+ * @author Jeroen Roosen
+ */
+final class ScaledSpriteCache {
+
+    /**
+     * The largest number of copies kept.
+     */
+    static final int CAPACITY = 512;
+
+    /**
+     * The copies by sprite, least recently drawn first.
+     */
+    private final Map<ImageSprite, Image> copies =
+        new LinkedHashMap<ImageSprite, Image>(CAPACITY, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ImageSprite, Image> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+
+    /**
+     * The width of the copies.
+     */
+    private int width;
+
+    /**
+     * The height of the copies.
+     */
+    private int height;
+
+    /**
+     * Returns the image of a sprite, scaled to the given size.
+     *
+     * @param sprite
+     *            The sprite to scale.
+     * @param image
+     *            The image of the sprite.
+     * @param scaledWidth
+     *            The width to scale to, which is positive.
+     * @param scaledHeight
+     *            The height to scale to, which is positive.
+     * @return The scaled copy of the image.
+     */
+    synchronized Image get(ImageSprite sprite, Image image, int scaledWidth, int scaledHeight) {
+        assert scaledWidth > 0 && scaledHeight > 0;
+
+        if (scaledWidth != width || scaledHeight != height) {
+            copies.clear();
+            width = scaledWidth;
+            height = scaledHeight;
+        }
+        Image copy = copies.get(sprite);
+        if (copy == null) {
+            copy = scale(image, scaledWidth, scaledHeight);
+            copies.put(sprite, copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Makes a display compatible copy of an image, scaled to the given size.
+     * Without a display, e.g. in a headless test, the copy is a plain image
+     * with an alpha channel.
+     *
+     * @param image
+     *            The image to scale.
+     * @param scaledWidth
+     *            The width to scale to.
+     * @param scaledHeight
+     *            The height to scale to.
+     * @return The scaled copy.
+     */
+    private static Image scale(Image image, int scaledWidth, int scaledHeight) {
+        BufferedImage copy;
+        if (GraphicsEnvironment.isHeadless()) {
+            copy = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            GraphicsConfiguration gc = GraphicsEnvironment
+                .getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration();
+            copy = gc.createCompatibleImage(scaledWidth, scaledHeight, transparencyOf(image));
+        }
+        Graphics2D graphics = copy.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, scaledWidth, scaledHeight,
+                0, 0, image.getWidth(null), image.getHeight(null), null);
+        } finally {
+            graphics.dispose();
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the transparency of an image, keeping the partly transparent
+     * pixels of translucent sprites and of their smoothed edges.
+     *
+     * @param image
+     *            The image.
+     * @return The transparency of the image if it reports one, or
+     *         {@link Transparency#TRANSLUCENT} otherwise.
+     */
+    private static int transparencyOf(Image image) {
+        if (image instanceof Transparency) {
+            return ((Transparency) image).getTransparency();
+        }
+        return Transparency.TRANSLUCENT;
+    }
+}
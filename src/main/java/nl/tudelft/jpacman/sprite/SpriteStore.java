@@ -24,16 +24,42 @@ public class SpriteStore {
     private final Map<String, Sprite> spriteMap;
 
     /**
-     * Create a new sprite store.
+     * The copies of the loaded sprites, scaled to the size they are drawn at.
+     */
+    private final ScaledSpriteCache scaledSprites;
+
+    /**
+     * The clock the animated sprites of this store pick their frames by.
+     */
+    private final AnimationClock animationClock;
+
+    /**
+     * Create a new sprite store, animating its sprites by the
+     * {@link FrameClock} shared by the user interface.
      */
     public SpriteStore() {
+        this(FrameClock.getInstance());
+    }
+
+    /**
+     * Create a new sprite store.
+     *
+     * @param clock
+     *            The clock to animate the sprites of this store by.
+     */
+    public SpriteStore(AnimationClock clock) {
+        assert clock != null;
         spriteMap = new HashMap<>();
+        scaledSprites = new ScaledSpriteCache();
+        animationClock = clock;
     }
 
     /**
      * Loads a sprite from a resource on the class path.
      * Sprites are loaded once, and then stored in the store
-     * so that they can be efficiently retrieved.
+     * so that they can be efficiently retrieved. The sprite and
+     * the sprites split from it are drawn from copies scaled to
+     * the size they are drawn at, kept by this store.
      *
      * @param resource
      *            The resource path.
@@ -69,7 +95,7 @@ public class SpriteStore {
                 throw new IOException("Unable to load " + resource + ", resource does not exist.");
             }
             BufferedImage image = ImageIO.read(input);
-            return new ImageSprite(image);
+            return new ImageSprite(image, scaledSprites);
         }
     }
 
@@ -99,7 +125,7 @@ public class SpriteStore {
                 baseImage.getHeight());
         }
 
-        return new AnimatedSprite(animation, delay, loop);
+        return new AnimatedSprite(animation, delay, loop, false, animationClock);
     }
 
 }
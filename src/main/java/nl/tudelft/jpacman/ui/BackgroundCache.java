@@ -0,0 +1,123 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The background image of a board, decoded once and kept as a copy that is
+ * scaled to the size it is drawn at and compatible with the display. The copy
+ * is only scaled again when that size changes.
+ *
+ * @author Jeroen Roosen
+ */
+final class BackgroundCache {
+
+    /**
+     * The decoded backgrounds by file name, shared by all panels, or an empty
+     * value if the file could not be decoded.
+     */
+    private static final Map<String, Optional<BufferedImage>> DECODED =
+        new ConcurrentHashMap<>();
+
+    /**
+     * The file name of the background.
+     */
+    private final String fileName;
+
+    /**
+     * The scaled copy, or <code>null</code> if it has not been made yet.
+     */
+    private Image scaled;
+
+    /**
+     * Creates a new cache for a background.
+     *
+     * @param fileName
+     *            The file name of the background.
+     */
+    BackgroundCache(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the background scaled to the given size.
+     *
+     * @param target
+     *            The component the background will be drawn on.
+     * @param width
+     *            The width to scale to.
+     * @param height
+     *            The height to scale to.
+     * @return The scaled background, or <code>null</code> if the background
+     *         could not be decoded or the size is empty.
+     */
+    Image get(Component target, int width, int height) {
+        if (scaled != null
+            && scaled.getWidth(null) == width && scaled.getHeight(null) == height) {
+            return scaled;
+        }
+        Optional<BufferedImage> image = DECODED.computeIfAbsent(fileName, BackgroundCache::decode);
+        if (!image.isPresent() || width <= 0 || height <= 0) {
+            return null;
+        }
+        scaled = scale(image.get(), target, width, height);
+        return scaled;
+    }
+
+    /**
+     * Makes a display compatible copy of an image, scaled to the given size.
+     *
+     * @param image
+     *            The image to scale.
+     * @param target
+     *            The component the copy will be drawn on.
+     * @param width
+     *            The width to scale to.
+     * @param height
+     *            The height to scale to.
+     * @return The scaled copy.
+     */
+    private static Image scale(BufferedImage image, Component target, int width, int height) {
+        GraphicsConfiguration gc = target.getGraphicsConfiguration();
+        if (gc == null) {
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration();
+        }
+        BufferedImage copy = gc.createCompatibleImage(width, height,
+            image.getColorModel().getTransparency());
+        Graphics2D graphics = copy.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return copy;
+    }
+
+    /**
+     * Decodes a background from a file.
+     *
+     * @param fileName
+     *            The file name of the background.
+     * @return The decoded background, or an empty value if the file could not
+     *         be decoded, in which case no background is drawn.
+     */
+    private static Optional<BufferedImage> decode(String fileName) {
+        try {
+            return Optional.ofNullable(ImageIO.read(new File(fileName)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferStrategy;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.sprite.FrameClock;
+
+/**
+ * Canvas displaying a game, drawn actively by a {@link RenderLoop} through a
+ * {@link BufferStrategy} rather than through repaint requests.
+ *
+ * @author Jeroen Roosen
+ */
+class BoardCanvas extends Canvas {
+
+    /**
+     * Default serialisation ID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of buffers to draw with.
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * The size (in pixels) of a square on the board. The initial size of this
+     * canvas will scale to fit a board with square of this size.
+     */
+    private static final int SQUARE_SIZE = 24;
+
+    /**
+     * The renderer drawing the board.
+     */
+    private final transient BoardRenderer renderer;
+
+    /**
+     * Creates a new board canvas that will display the provided game.
+     *
+     * @param game
+     *            The game to display.
+     * @param bg
+     *            The file name of the background image.
+     */
+    BoardCanvas(Game game, String bg) {
+        super();
+        assert game != null;
+
+        Level level = game.getLevel();
+        Board board = level.getBoard();
+        this.renderer = new BoardRenderer(board, level::getSnapshot, new BackgroundCache(bg),
+            FrameClock.getInstance());
+
+        Dimension size = new Dimension(board.getWidth() * SQUARE_SIZE,
+            board.getHeight() * SQUARE_SIZE);
+        setMinimumSize(size);
+        setPreferredSize(size);
+        setIgnoreRepaint(true);
+    }
+
+    /**
+     * Draws a frame and shows it, unless this canvas is not displayed.
+     */
+    void renderFrame() {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            createBufferStrategy(BUFFERS);
+            strategy = getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    renderer.render(graphics, this, getWidth(), getHeight());
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+    }
+}
@@ -7,9 +7,9 @@ import java.awt.Graphics;
 import javax.swing.*;
 
 import nl.tudelft.jpacman.board.Board;
-import nl.tudelft.jpacman.board.Square;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.sprite.FrameClock;
 
 /**
  * Panel displaying a game.
@@ -36,9 +36,9 @@ class BoardPanel extends JPanel {
     private static final int SQUARE_SIZE = 24;
 
     /**
-     * The game to display.
+     * The renderer drawing the board.
      */
-    private final Game game;
+    private final BoardRenderer renderer;
 
     /**
      * Creates a new board panel that will display the provided game.
@@ -53,11 +53,13 @@ class BoardPanel extends JPanel {
     BoardPanel(Game game,String bg) {
         super();
         assert game != null;
-        this.game = game;
 
         this.bg = bg;
 
-        Board board = game.getLevel().getBoard();
+        Level level = game.getLevel();
+        Board board = level.getBoard();
+        this.renderer = new BoardRenderer(board, level::getSnapshot, new BackgroundCache(bg),
+            FrameClock.getInstance());
 
         int w = board.getWidth() * SQUARE_SIZE;
         int h = board.getHeight() * SQUARE_SIZE;
@@ -70,63 +72,12 @@ class BoardPanel extends JPanel {
     @Override
     public void paint(Graphics g) {
         assert g != null;
-        render(game.getLevel().getBoard(), g, getSize());
-    }
-
-    /**
-     * Renders the board on the given graphics context to the given dimensions.
-     *
-     * @param board
-     *            The board to render.
-     * @param graphics
-     *            The graphics context to draw on.
-     * @param window
-     *            The dimensions to scale the rendered board to.
-     */
-    private void render(Board board, Graphics graphics, Dimension window) {
-        int cellW = window.width / board.getWidth();
-        int cellH = window.height / board.getHeight();
-
-        ImageIcon C = new ImageIcon(bg);
-        graphics.drawImage(C.getImage(),0,0,550,500,this);
-
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                int cellX = x * cellW;
-                int cellY = y * cellH;
-
-                Square square = board.squareAt(x, y);
-                render(square, graphics, cellX, cellY, cellW, cellH);
-            }
-        }
+        Dimension size = getSize();
+        renderer.render(g, this, size.width, size.height);
     }
 
     /** Return background path*/
     public String getBGName(){
         return bg;
     }
-
-    /**
-     * Renders a single square on the given graphics context on the specified
-     * rectangle.
-     *
-     * @param square
-     *            The square to render.
-     * @param graphics
-     *            The graphics context to draw on.
-     * @param x
-     *            The x position to start drawing.
-     * @param y
-     *            The y position to start drawing.
-     * @param width
-     *            The width of this square (in pixels.)
-     * @param height
-     *            The height of this square (in pixels.)
-     */
-    private void render(Square square, Graphics graphics, int x, int y, int width, int height) {
-        square.getSprite().draw(graphics, x, y, width, height);
-        for (Unit unit : square.getOccupants()) {
-            unit.getSprite().draw(graphics, x, y, width, height);
-        }
-    }
 }
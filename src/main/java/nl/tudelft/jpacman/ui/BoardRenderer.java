@@ -0,0 +1,219 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.function.Supplier;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.level.FrameSnapshot;
+import nl.tudelft.jpacman.sprite.FrameClock;
+
+/**
+ * Renders a board in layers. The background and the sprites of all squares,
+ * which never change, are drawn once into a static layer for every size the
+ * board is rendered at. The occupants are drawn from the latest
+ * {@link FrameSnapshot} published by the level, so rendering never reads the
+ * squares the NPCs are moving on. The frame is kept between renders, and only
+ * the squares whose occupants differ from the previous snapshot or whose
+ * occupants are animated are restored from the static layer and drawn again.
+ * Every frame starts by ticking the animation clock, so all animated sprites
+ * in the frame show the same moment.
+ *
+ * @author Jeroen Roosen
+ */
+final class BoardRenderer {
+
+    /**
+     * The board to render.
+     */
+    private final Board board;
+
+    /**
+     * The source of the snapshots to draw the occupants from.
+     */
+    private final Supplier<FrameSnapshot> snapshots;
+
+    /**
+     * The background of the board.
+     */
+    private final BackgroundCache background;
+
+    /**
+     * The clock the animated sprites are drawn by.
+     */
+    private final FrameClock clock;
+
+    /**
+     * The pellets as drawn in the frame.
+     */
+    private final DrawnLayer pellets;
+
+    /**
+     * The units other than pellets as drawn in the frame, on top of the
+     * pellets.
+     */
+    private final DrawnLayer units;
+
+    /**
+     * The squares to draw in the current frame.
+     */
+    private final BitSet dirty;
+
+    /**
+     * The background and square sprites, or <code>null</code> before the
+     * first frame.
+     */
+    private BufferedImage staticLayer;
+
+    /**
+     * The frame as drawn by the last render.
+     */
+    private BufferedImage frame;
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param board
+     *            The board to render.
+     * @param snapshots
+     *            The source of the latest snapshot of the occupants of the
+     *            board.
+     * @param background
+     *            The background to draw behind the board.
+     * @param clock
+     *            The clock to tick at the start of every frame.
+     */
+    BoardRenderer(Board board, Supplier<FrameSnapshot> snapshots, BackgroundCache background,
+                  FrameClock clock) {
+        this.board = board;
+        this.snapshots = snapshots;
+        this.background = background;
+        this.clock = clock;
+        this.pellets = new DrawnLayer(board.getSquareCount());
+        this.units = new DrawnLayer(board.getSquareCount());
+        this.dirty = new BitSet(board.getSquareCount());
+    }
+
+    /**
+     * Renders the board on the given graphics context to the given dimensions.
+     *
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param target
+     *            The component the board is rendered on.
+     * @param width
+     *            The width to scale the rendered board to.
+     * @param height
+     *            The height to scale the rendered board to.
+     */
+    void render(Graphics graphics, Component target, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int cellW = width / board.getWidth();
+        int cellH = height / board.getHeight();
+        FrameSnapshot snapshot = snapshots.get();
+        clock.tick();
+
+        if (staticLayer == null
+            || staticLayer.getWidth() != width || staticLayer.getHeight() != height) {
+            redrawStatic(target, width, height, cellW, cellH);
+            pellets.reset();
+            units.reset();
+        }
+        findDirty(snapshot);
+        redrawDirty(cellW, cellH);
+        graphics.drawImage(frame, 0, 0, null);
+    }
+
+    /**
+     * Draws a new static layer at the given size, and starts a new frame from
+     * it.
+     */
+    private void redrawStatic(Component target, int width, int height, int cellW, int cellH) {
+        staticLayer = newImage(target, width, height);
+        Graphics layer = staticLayer.createGraphics();
+        Image backgroundImage = background.get(target, width, height);
+        if (backgroundImage != null) {
+            layer.drawImage(backgroundImage, 0, 0, null);
+        }
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                board.squareAt(x, y).getSprite().draw(layer, x * cellW, y * cellH, cellW, cellH);
+            }
+        }
+        layer.dispose();
+
+        frame = newImage(target, width, height);
+        Graphics graphics = frame.createGraphics();
+        graphics.drawImage(staticLayer, 0, 0, null);
+        graphics.dispose();
+    }
+
+    /**
+     * Marks the squares whose occupants differ from the drawn snapshot, are
+     * animated, or were vacated, as dirty, and takes the snapshot as the one
+     * drawn. The pellets are only compared when the snapshot has a new pellet
+     * layer.
+     *
+     * @param snapshot
+     *            The snapshot to draw.
+     * @return The squares to draw, as indices, valid until the next frame.
+     */
+    BitSet findDirty(FrameSnapshot snapshot) {
+        dirty.clear();
+        pellets.findDirty(snapshot.getPellets(), dirty);
+        units.findDirty(snapshot.getUnits(), dirty);
+        return dirty;
+    }
+
+    /**
+     * Restores the dirty squares of the frame from the static layer and draws
+     * their occupants, the units over the pellets. The squares are restored
+     * by replacing their pixels rather than drawing over them, as the static
+     * layer is transparent wherever neither the background nor the square
+     * sprites cover it.
+     */
+    private void redrawDirty(int cellW, int cellH) {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Graphics2D graphics = frame.createGraphics();
+        int height = board.getHeight();
+        graphics.setComposite(AlphaComposite.Src);
+        for (int index = dirty.nextSetBit(0); index >= 0; index = dirty.nextSetBit(index + 1)) {
+            int x = index / height * cellW;
+            int y = index % height * cellH;
+            graphics.drawImage(staticLayer, x, y, x + cellW, y + cellH,
+                x, y, x + cellW, y + cellH, null);
+        }
+        graphics.setComposite(AlphaComposite.SrcOver);
+        for (int index = dirty.nextSetBit(0); index >= 0; index = dirty.nextSetBit(index + 1)) {
+            int x = index / height * cellW;
+            int y = index % height * cellH;
+            pellets.draw(graphics, index, x, y, cellW, cellH);
+            units.draw(graphics, index, x, y, cellW, cellH);
+        }
+        graphics.dispose();
+    }
+
+    private BufferedImage newImage(Component target, int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        GraphicsConfiguration gc = target.getGraphicsConfiguration();
+        if (gc == null) {
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration();
+        }
+        return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
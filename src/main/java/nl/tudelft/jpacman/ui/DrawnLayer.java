@@ -0,0 +1,178 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Graphics;
+import java.util.BitSet;
+
+import nl.tudelft.jpacman.level.SnapshotLayer;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * What a {@link BoardRenderer} drew of one {@link SnapshotLayer} of the
+ * snapshots of a board. A layer that is the same object as the one drawn is
+ * not compared again, so only its animated squares are redrawn, and the
+ * occupants of any square are found without going through the whole layer.
+ *
+ * @author Jeroen Roosen
+ */
+final class DrawnLayer {
+
+    /**
+     * The layer as drawn, or <code>null</code> if nothing was drawn yet.
+     */
+    private SnapshotLayer drawn;
+
+    /**
+     * For every square in {@link #occupied}, the index of its first entry in
+     * {@link #drawn}.
+     */
+    private final int[] drawnAt;
+
+    /**
+     * The squares with occupants in the drawn layer.
+     */
+    private BitSet occupied;
+
+    /**
+     * The squares with occupants in the layer being drawn, swapped with
+     * {@link #occupied} after every new layer.
+     */
+    private BitSet current;
+
+    /**
+     * The squares of the drawn layer with animated occupants.
+     */
+    private final BitSet animated;
+
+    /**
+     * Creates a new layer, of which nothing is drawn yet.
+     *
+     * @param squareCount
+     *            The number of squares of the board.
+     */
+    DrawnLayer(int squareCount) {
+        this.drawnAt = new int[squareCount];
+        this.occupied = new BitSet(squareCount);
+        this.current = new BitSet(squareCount);
+        this.animated = new BitSet(squareCount);
+    }
+
+    /**
+     * Forgets what was drawn, so that all occupants of the next layer are
+     * drawn again.
+     */
+    void reset() {
+        drawn = null;
+        occupied.clear();
+    }
+
+    /**
+     * Marks the squares whose occupants differ from the drawn layer, are
+     * animated, or were vacated, as dirty, and takes the layer as the one
+     * drawn.
+     *
+     * @param layer
+     *            The layer to draw.
+     * @param dirty
+     *            The squares to draw, to which the squares of this layer are
+     *            added.
+     */
+    void findDirty(SnapshotLayer layer, BitSet dirty) {
+        if (layer == drawn) {
+            dirty.or(animated);
+            return;
+        }
+        current.clear();
+        animated.clear();
+        for (int entry = 0; entry < layer.size(); entry = layer.endOfCell(entry)) {
+            int cell = layer.getCell(entry);
+            current.set(cell);
+            if (isAnimated(layer, entry)) {
+                animated.set(cell);
+                dirty.set(cell);
+            } else if (!occupied.get(cell) || !sameOccupants(layer, entry, drawnAt[cell])) {
+                dirty.set(cell);
+            }
+            drawnAt[cell] = entry;
+        }
+        occupied.andNot(current);
+        dirty.or(occupied);
+
+        BitSet swap = occupied;
+        occupied = current;
+        current = swap;
+        drawn = layer;
+    }
+
+    /**
+     * Determines whether any occupant of a square is animated.
+     *
+     * @param layer
+     *            The layer to draw.
+     * @param entry
+     *            The first entry of the square in the layer.
+     * @return <code>true</code> iff a sprite of the square is animated.
+     */
+    private static boolean isAnimated(SnapshotLayer layer, int entry) {
+        int end = layer.endOfCell(entry);
+        for (int i = entry; i < end; i++) {
+            if (layer.getSprite(i) instanceof AnimatedSprite) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether the occupants of a square can be left as drawn.
+     *
+     * @param layer
+     *            The layer to draw.
+     * @param entry
+     *            The first entry of the square in the layer.
+     * @param drawnEntry
+     *            The first entry of the square in the drawn layer.
+     * @return <code>true</code> iff the square shows the same sprites in both
+     *         layers.
+     */
+    private boolean sameOccupants(SnapshotLayer layer, int entry, int drawnEntry) {
+        int end = layer.endOfCell(entry);
+        if (drawn.endOfCell(drawnEntry) - drawnEntry != end - entry) {
+            return false;
+        }
+        for (int i = 0; i < end - entry; i++) {
+            Sprite sprite = layer.getSprite(entry + i);
+            if (sprite != drawn.getSprite(drawnEntry + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws the occupants of a square in the drawn layer, if any.
+     *
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param cell
+     *            The index of the square.
+     * @param x
+     *            The left of the square in pixels.
+     * @param y
+     *            The top of the square in pixels.
+     * @param width
+     *            The width of the square in pixels.
+     * @param height
+     *            The height of the square in pixels.
+     */
+    void draw(Graphics graphics, int cell, int x, int y, int width, int height) {
+        if (!occupied.get(cell)) {
+            return;
+        }
+        int first = drawnAt[cell];
+        int end = drawn.endOfCell(first);
+        for (int entry = first; entry < end; entry++) {
+            drawn.getSprite(entry).draw(graphics, x, y, width, height);
+        }
+    }
+}
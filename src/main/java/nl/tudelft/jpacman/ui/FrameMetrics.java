@@ -0,0 +1,149 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of the frames drawn by a {@link RenderLoop}: the time between the
+ * starts of consecutive frames, the time spent rendering a frame, the number
+ * of frames dropped because rendering fell behind, and the number of frames
+ * that failed to draw.
+ *
+ * @author Jeroen Roosen
+ */
+public class FrameMetrics {
+
+    /**
+     * The number of frames rendered.
+     */
+    private long frames;
+
+    /**
+     * The number of frames dropped.
+     */
+    private long dropped;
+
+    /**
+     * The number of frames that failed to draw.
+     */
+    private long failed;
+
+    /**
+     * The number of frame times recorded.
+     */
+    private long intervals;
+
+    /**
+     * The sum of all frame times in nanoseconds.
+     */
+    private long totalFrameTime;
+
+    /**
+     * The longest frame time in nanoseconds.
+     */
+    private long maxFrameTime;
+
+    /**
+     * The sum of all render durations in nanoseconds.
+     */
+    private long totalRenderTime;
+
+    /**
+     * The longest render duration in nanoseconds.
+     */
+    private long maxRenderTime;
+
+    /**
+     * Records a rendered frame.
+     *
+     * @param frameTime
+     *            The nanoseconds since the start of the previous frame, or a
+     *            value less than 1 for the first frame.
+     * @param renderTime
+     *            The nanoseconds spent rendering the frame.
+     * @param droppedFrames
+     *            The number of frames skipped after this frame to catch up
+     *            with the target frame rate.
+     */
+    synchronized void record(long frameTime, long renderTime, int droppedFrames) {
+        frames++;
+        dropped += droppedFrames;
+        if (frameTime > 0) {
+            intervals++;
+            totalFrameTime += frameTime;
+            maxFrameTime = Math.max(maxFrameTime, frameTime);
+        }
+        totalRenderTime += renderTime;
+        maxRenderTime = Math.max(maxRenderTime, renderTime);
+    }
+
+    /**
+     * Records a frame that failed to draw. The frame is still recorded as
+     * rendered.
+     */
+    synchronized void recordFailure() {
+        failed++;
+    }
+
+    /**
+     * @return The number of frames rendered.
+     */
+    public synchronized long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * @return The number of frames dropped because rendering fell behind.
+     */
+    public synchronized long getDroppedFrames() {
+        return dropped;
+    }
+
+    /**
+     * @return The number of frames that failed to draw.
+     */
+    public synchronized long getFailedFrames() {
+        return failed;
+    }
+
+    /**
+     * @return The average time between the starts of two frames in
+     *         milliseconds, or 0 if fewer than two frames were rendered.
+     */
+    public synchronized double getAverageFrameTime() {
+        return average(totalFrameTime, intervals);
+    }
+
+    /**
+     * @return The longest time between the starts of two frames in
+     *         milliseconds.
+     */
+    public synchronized double getMaxFrameTime() {
+        return millis(maxFrameTime);
+    }
+
+    /**
+     * @return The average time spent rendering a frame in milliseconds, or 0
+     *         if no frames were rendered.
+     */
+    public synchronized double getAverageRenderTime() {
+        return average(totalRenderTime, frames);
+    }
+
+    /**
+     * @return The longest time spent rendering a frame in milliseconds.
+     */
+    public synchronized double getMaxRenderTime() {
+        return millis(maxRenderTime);
+    }
+
+    private static double average(long totalNanos, long count) {
+        if (count == 0) {
+            return 0;
+        }
+        return millis(totalNanos) / count;
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.*;
 
@@ -46,16 +47,56 @@ public class PacManUI extends JFrame {
     private ScorePanel scorePanel;
 
     /**
-     * The panel displaying the game.
+     * The panel displaying the game, or <code>null</code> when rendering
+     * actively.
      */
     private BoardPanel boardPanel;
 
-    public BoardPanel getBoardPanel(){
-        return this.boardPanel;
+    /**
+     * The canvas displaying the game when rendering actively, or
+     * <code>null</code> otherwise.
+     */
+    private volatile BoardCanvas boardCanvas;
+
+    /**
+     * The number of frames drawn per second by the render loop, or 0 to
+     * repaint the board panel instead.
+     */
+    private final int targetFps;
+
+    /**
+     * The statistics of the frames drawn by the render loop.
+     */
+    private final FrameMetrics frameMetrics = new FrameMetrics();
+
+    /**
+     * The loop drawing the frames when rendering actively.
+     */
+    private RenderLoop renderLoop;
+
+    /**
+     * <code>true</code> while a score refresh is waiting on the event
+     * dispatch thread.
+     */
+    private final AtomicBoolean scoreRefreshPending = new AtomicBoolean();
+
+    /**
+     * The file name of the current background.
+     */
+    private String nameBG;
+
+    /**
+     * Returns the component displaying the game, which is a canvas when
+     * rendering actively and a panel otherwise.
+     *
+     * @return The component displaying the game.
+     */
+    public Component getBoardPanel(){
+        return getBoardView();
     }
 
     public String getNameBG(){
-        return getBoardPanel().getBGName();
+        return nameBG;
     }
     /**
      *contentPanel
@@ -89,7 +130,35 @@ public class PacManUI extends JFrame {
     public PacManUI(final Game game, final Map<String, Action> buttons,
                     final Map<Integer, Action> keyMappings,
                     ScoreFormatter scoreFormatter,String nameFileBG) {
+        this(game, buttons, keyMappings, scoreFormatter, nameFileBG, 0);
+    }
+
+    /**
+     * Creates a new UI for a JPacman game, which can be drawn actively.
+     *
+     * @param game
+     *            The game to play.
+     * @param buttons
+     *            The map of caption-to-action entries that will appear as
+     *            buttons on the interface.
+     * @param keyMappings
+     *            The map of keyCode-to-action entries that will be added as key
+     *            listeners to the interface.
+     * @param scoreFormatter
+     *            The formatter used to display the current score.
+     * @param nameFileBG
+     *            The file name of the background image.
+     * @param targetFps
+     *            The number of frames a render loop draws per second on a
+     *            {@link BoardCanvas}, or 0 to repaint a {@link BoardPanel} at
+     *            a fixed rate instead.
+     */
+    public PacManUI(final Game game, final Map<String, Action> buttons,
+                    final Map<Integer, Action> keyMappings,
+                    ScoreFormatter scoreFormatter, String nameFileBG, int targetFps) {
         super("JPacman EiEi");
+        assert targetFps >= 0;
+        this.targetFps = targetFps;
         assert game != null;
         assert buttons != null;
         assert keyMappings != null;
@@ -106,7 +175,7 @@ public class PacManUI extends JFrame {
             scorePanel.setScoreFormatter(scoreFormatter);
         }
         contentPanel.setLayout(new BorderLayout());
-        boardPanel = new BoardPanel(game,nameFileBG);
+        createBoardView(game, nameFileBG);
         Main_UI(buttonPanel);
     }
     /**
@@ -121,11 +190,49 @@ public class PacManUI extends JFrame {
             scorePanel.setScoreFormatter(scoreFormatter);
         }
         contentPanel.add(scorePanel, BorderLayout.NORTH);
-        contentPanel.remove(boardPanel);
-        boardPanel = new BoardPanel(game,nameFileBG);
-        contentPanel.add(boardPanel);
+        contentPanel.remove(getBoardView());
+        createBoardView(game, nameFileBG);
+        contentPanel.add(getBoardView());
         pack();
     }
+
+    /**
+     * Creates the component displaying the game: a canvas when rendering
+     * actively, a panel otherwise.
+     *
+     * @param game
+     *            The game to display.
+     * @param nameFileBG
+     *            The file name of the background image.
+     */
+    private void createBoardView(Game game, String nameFileBG) {
+        nameBG = nameFileBG;
+        if (targetFps > 0) {
+            boardCanvas = new BoardCanvas(game, nameFileBG);
+        } else {
+            boardPanel = new BoardPanel(game, nameFileBG);
+        }
+    }
+
+    /**
+     * @return The component displaying the game.
+     */
+    private Component getBoardView() {
+        if (targetFps > 0) {
+            return boardCanvas;
+        }
+        return boardPanel;
+    }
+
+    /**
+     * Returns the statistics of the frames drawn in active rendering mode.
+     *
+     * @return The frame statistics, which remain empty when the board is
+     *         repainted instead.
+     */
+    public FrameMetrics getFrameMetrics() {
+        return frameMetrics;
+    }
     /**
      *
      *
@@ -162,7 +269,7 @@ public class PacManUI extends JFrame {
                         pack();
                         contentPanel.add(buttonPanel, BorderLayout.SOUTH);
                         contentPanel.add(scorePanel, BorderLayout.NORTH);
-                        contentPanel.add(boardPanel, BorderLayout.CENTER);
+                        contentPanel.add(getBoardView(), BorderLayout.CENTER);
                         pack();
                     }
                 });
@@ -172,13 +279,31 @@ public class PacManUI extends JFrame {
 
     /**
      * Starts the "engine", the thread that redraws the interface at set
-     * intervals.
+     * intervals. When rendering actively, this is a render loop drawing at
+     * the target frame rate.
      */
     public void start() {
         setLocationRelativeTo(null);
         setVisible(true);
-        ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-        service.scheduleAtFixedRate(this::nextFrame, 0, FRAME_INTERVAL, TimeUnit.MILLISECONDS);
+        if (targetFps > 0) {
+            renderLoop = new RenderLoop(targetFps, this::nextActiveFrame, frameMetrics);
+            renderLoop.start();
+        } else {
+            ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
+            service.scheduleAtFixedRate(this::nextFrame, 0, FRAME_INTERVAL,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the render loop, if any, and disposes of this frame.
+     */
+    @Override
+    public void dispose() {
+        if (renderLoop != null) {
+            renderLoop.stop();
+        }
+        super.dispose();
     }
 
     /**
@@ -186,6 +311,27 @@ public class PacManUI extends JFrame {
      */
     private void nextFrame() {
         boardPanel.repaint();
-        scorePanel.refresh();
+        refreshScores();
+    }
+
+    /**
+     * Draws the next frame on the canvas and refreshes the scores.
+     */
+    private void nextActiveFrame() {
+        boardCanvas.renderFrame();
+        refreshScores();
+    }
+
+    /**
+     * Refreshes the scores on the event dispatch thread, skipping the refresh
+     * if the previous one has not been done yet.
+     */
+    private void refreshScores() {
+        if (scoreRefreshPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                scoreRefreshPending.set(false);
+                scorePanel.refresh();
+            });
+        }
     }
 }
@@ -44,6 +44,11 @@ public class PacManUiBuilder {
      */
     private ScoreFormatter scoreFormatter = null;
 
+    /**
+     * The frame rate of the render loop, or 0 to repaint at a fixed rate.
+     */
+    private int targetFps = 0;
+
     /**
      * Creates a new Pac-Man UI builder without any mapped keys or buttons.
      */
@@ -67,7 +72,7 @@ public class PacManUiBuilder {
             addStartButton(game);
             addStopButton(game);
         }
-        return new PacManUI(game, buttons, keyMappings, scoreFormatter,bgname);
+        return new PacManUI(game, buttons, keyMappings, scoreFormatter, bgname, targetFps);
     }
 
     /**
@@ -156,4 +161,19 @@ public class PacManUiBuilder {
         this.scoreFormatter = scoreFormatter;
         return this;
     }
+
+    /**
+     * Draws the board actively, from a render loop on a canvas, instead of
+     * repainting it at a fixed rate.
+     *
+     * @param fps
+     *         The number of frames to draw per second.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withActiveRendering(int fps) {
+        assert fps > 0;
+        this.targetFps = fps;
+        return this;
+    }
 }
@@ -0,0 +1,122 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A dedicated thread drawing frames at a target frame rate. Frames are
+ * started at fixed deadlines. When rendering takes longer than a frame, the
+ * frames whose deadlines passed are dropped rather than rendered late, and
+ * counted in the {@link FrameMetrics}. Frames that fail are logged and
+ * counted as well, and the loop carries on with the next frame.
+ *
+ * @author Jeroen Roosen
+ */
+class RenderLoop implements Runnable {
+
+    /**
+     * The logger reporting frames that failed to draw.
+     */
+    private static final Logger LOGGER = Logger.getLogger(RenderLoop.class.getName());
+
+    /**
+     * The time between the starts of two frames in nanoseconds.
+     */
+    private final long period;
+
+    /**
+     * Draws a single frame.
+     */
+    private final Runnable frame;
+
+    /**
+     * The statistics of the frames drawn.
+     */
+    private final FrameMetrics metrics;
+
+    /**
+     * <code>true</code> once the loop has been asked to stop.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Creates a new render loop.
+     *
+     * @param targetFps
+     *            The number of frames to draw per second.
+     * @param frame
+     *            Draws a single frame.
+     * @param metrics
+     *            The statistics to record the frames in.
+     */
+    RenderLoop(int targetFps, Runnable frame, FrameMetrics metrics) {
+        assert targetFps > 0;
+        assert frame != null;
+        assert metrics != null;
+
+        this.period = TimeUnit.SECONDS.toNanos(1) / targetFps;
+        this.frame = frame;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts the loop on a new daemon thread.
+     */
+    void start() {
+        stopped = false;
+        Thread thread = new Thread(this, "render-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop after the current frame.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void run() {
+        long deadline = System.nanoTime();
+        long previous = 0L;
+        while (!stopped) {
+            long start = System.nanoTime();
+            drawFrame();
+            long finish = System.nanoTime();
+
+            deadline += period;
+            int dropped = 0;
+            if (finish > deadline) {
+                dropped = (int) ((finish - deadline) / period);
+                deadline += dropped * period;
+            }
+            long frameTime = 0L;
+            if (previous != 0L) {
+                frameTime = start - previous;
+            }
+            previous = start;
+            metrics.record(frameTime, finish - start, dropped);
+
+            for (long wait = deadline - System.nanoTime(); wait > 0 && !stopped;
+                 wait = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Draws a single frame. A frame that fails is logged and counted, so
+     * that a single broken frame does not end the loop.
+     */
+    private void drawFrame() {
+        try {
+            frame.run();
+        } catch (RuntimeException e) {
+            metrics.recordFailure();
+            LOGGER.log(Level.WARNING, "Failed to draw a frame", e);
+        }
+    }
+}
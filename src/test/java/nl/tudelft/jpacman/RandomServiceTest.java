@@ -0,0 +1,28 @@
+package nl.tudelft.jpacman;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the reproducibility of {@link RandomService}.
+ *
+ * @author Jeroen Roosen
+ */
+class RandomServiceTest {
+
+    /**
+     * Services with the same seed, and their splits, produce the same
+     * numbers.
+     */
+    @Test
+    void sameSeedSameNumbers() {
+        RandomService first = new RandomService(42L);
+        RandomService second = new RandomService(42L);
+        RandomService firstSplit = first.split();
+        RandomService secondSplit = second.split();
+
+        assertThat(first.nextLong()).isEqualTo(second.nextLong());
+        assertThat(firstSplit.nextInt(1000)).isEqualTo(secondSplit.nextInt(1000));
+    }
+}
@@ -0,0 +1,152 @@
+package nl.tudelft.jpacman.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+
+import nl.tudelft.jpacman.npc.ghost.Navigation;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the distance tables of {@link DistanceOracle}, compared to
+ * the breadth first searches of {@link Navigation} on a board of the same
+ * layout that has no table.
+ *
+ * @author Jeroen Roosen
+ */
+class DistanceOracleTest {
+
+    /**
+     * The width of the random boards.
+     */
+    private static final int WIDTH = 13;
+
+    /**
+     * The height of the random boards.
+     */
+    private static final int HEIGHT = 9;
+
+    /**
+     * The factory creating the boards.
+     */
+    private final BoardFactory factory = new BoardFactory(new HeadlessSprites());
+
+    /**
+     * The table gives the distances and shortest paths that a search gives,
+     * between all pairs of squares, including squares that cannot reach each
+     * other and walks that wrap around the edges of the board.
+     */
+    @Test
+    void matchesSearch() {
+        boolean[][] walls = randomWalls(new Random(1L));
+        Board board = createBoard(walls, true);
+        Board searched = createBoard(walls, false);
+        DistanceOracle oracle = board.getDistanceOracle();
+        assertThat(oracle).isNotNull();
+        assertThat(searched.getDistanceOracle()).isNull();
+        Unit traveller = new BasicUnit();
+
+        for (int from = 0; from < board.getSquareCount(); from++) {
+            for (int to = 0; to < board.getSquareCount(); to++) {
+                if (walls[from / HEIGHT][from % HEIGHT] || walls[to / HEIGHT][to % HEIGHT]) {
+                    continue;
+                }
+                List<Direction> expected = Navigation.shortestPath(
+                    searched.squareAt(from), searched.squareAt(to), traveller);
+                Square start = board.squareAt(from);
+                Square end = board.squareAt(to);
+                assertThat(oracle.path(start, end)).isEqualTo(expected);
+                if (expected == null) {
+                    assertThat(oracle.distance(start, end)).isEqualTo(DistanceOracle.UNREACHABLE);
+                    assertThat(oracle.firstStep(start, end)).isNull();
+                } else {
+                    assertThat(oracle.distance(start, end)).isEqualTo(expected.size());
+                }
+            }
+        }
+    }
+
+    /**
+     * The table is built once, when it is first asked for.
+     */
+    @Test
+    void buildsOnce() {
+        Board board = createBoard(randomWalls(new Random(2L)), true);
+
+        assertThat(board.getDistanceOracle()).isSameAs(board.getDistanceOracle());
+    }
+
+    /**
+     * Boards with more than {@value DistanceOracle#MAX_SQUARES} accessible
+     * squares get no table, and fall back to searching.
+     */
+    @Test
+    void noTableForLargeBoards() {
+        int side = (int) Math.sqrt(DistanceOracle.MAX_SQUARES) + 1;
+        Board board = createBoard(new boolean[side][side], true);
+
+        assertThat(board.hasStaticTerrain()).isTrue();
+        assertThat(board.getDistanceOracle()).isNull();
+        assertThat(Navigation.distance(board.squareAt(0, 0), board.squareAt(2, 3),
+            new BasicUnit())).isEqualTo(5);
+    }
+
+    /**
+     * Boards with exactly {@value DistanceOracle#MAX_SQUARES} accessible
+     * squares still get a table.
+     */
+    @Test
+    void tableForLargestBoard() {
+        int side = (int) Math.sqrt(DistanceOracle.MAX_SQUARES);
+        assertThat(side * side).isEqualTo(DistanceOracle.MAX_SQUARES);
+        Board board = createBoard(new boolean[side][side], true);
+
+        assertThat(board.getDistanceOracle()).isNotNull();
+    }
+
+    /**
+     * Places walls on about a third of the squares of a board.
+     *
+     * @param random
+     *            The random generator deciding where the walls are.
+     * @return Per column and row, whether the square is a wall.
+     */
+    private static boolean[][] randomWalls(Random random) {
+        boolean[][] walls = new boolean[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                walls[x][y] = random.nextInt(3) == 0;
+            }
+        }
+        return walls;
+    }
+
+    /**
+     * Creates a board of walls and squares accessible to every unit.
+     *
+     * @param walls
+     *            Per column and row, whether the square is a wall.
+     * @param ground
+     *            <code>true</code> to create ground, which gives the board a
+     *            distance table, or <code>false</code> to create basic
+     *            squares, which does not.
+     * @return The board.
+     */
+    private Board createBoard(boolean[][] walls, boolean ground) {
+        Square[][] grid = new Square[walls.length][walls[0].length];
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < grid[x].length; y++) {
+                if (walls[x][y]) {
+                    grid[x][y] = factory.createWall();
+                } else if (ground) {
+                    grid[x][y] = factory.createGround();
+                } else {
+                    grid[x][y] = new BasicSquare();
+                }
+            }
+        }
+        return factory.createBoard(grid);
+    }
+}
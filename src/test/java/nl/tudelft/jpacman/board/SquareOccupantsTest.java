@@ -0,0 +1,113 @@
+package nl.tudelft.jpacman.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the non-copying occupant queries of {@link Square}.
+ *
+ * @author Jeroen Roosen
+ */
+class SquareOccupantsTest {
+
+    /**
+     * The square under test.
+     */
+    private Square square;
+
+    /**
+     * Resets the square under test.
+     */
+    @BeforeEach
+    void setUp() {
+        square = new BasicSquare();
+    }
+
+    /**
+     * Occupants are visited in order of appearance, and departed units are
+     * no longer visited.
+     */
+    @Test
+    void visitsOccupantsInOrder() {
+        Unit first = new BasicUnit();
+        Unit second = new BasicUnit();
+        Unit third = new BasicUnit();
+        first.occupy(square);
+        second.occupy(square);
+        third.occupy(square);
+        second.leaveSquare();
+
+        List<Unit> visited = new ArrayList<>();
+        square.forEachOccupant(visited::add);
+
+        assertThat(square.getOccupantCount()).isEqualTo(2);
+        assertThat(visited).containsExactly(first, third);
+    }
+
+    /**
+     * The typed lookup returns the oldest occupant of the requested type.
+     */
+    @Test
+    void findsOldestOccupantOfType() {
+        Unit unit = new BasicUnit();
+        unit.occupy(square);
+
+        assertThat(square.findOccupant(BasicUnit.class)).isSameAs(unit);
+        assertThat(square.findOccupant(Unit.class)).isSameAs(unit);
+    }
+
+    /**
+     * An empty square has no occupant of any type.
+     */
+    @Test
+    void emptySquareHasNoOccupants() {
+        assertThat(square.getOccupantCount()).isZero();
+        assertThat(square.findOccupant(Unit.class)).isNull();
+    }
+
+    /**
+     * The occupant mask reflects the types of the current occupants.
+     */
+    @Test
+    void maskTracksOccupantTypes() {
+        Unit unit = new BasicUnit();
+        unit.occupy(square);
+        assertThat(square.getOccupantMask()).isEqualTo(UnitTypes.bitOf(BasicUnit.class));
+        assertThat(square.hasOccupant(Unit.class)).isTrue();
+
+        unit.leaveSquare();
+        assertThat(square.getOccupantMask()).isZero();
+        assertThat(square.hasOccupant(BasicUnit.class)).isFalse();
+    }
+
+    /**
+     * Units without a bit of their own, such as mocks that skip the
+     * constructor of {@link Unit}, still make the square non-empty and are
+     * found by type.
+     */
+    @Test
+    void maskCoversUnitsWithoutBit() {
+        Unit unit = new UnitWithoutBit();
+        unit.occupy(square);
+
+        assertThat(square.getOccupantMask()).isNotEqualTo(0L);
+        assertThat(square.hasOccupant(UnitWithoutBit.class)).isTrue();
+        assertThat(square.findOccupant(BasicUnit.class)).isSameAs(unit);
+    }
+
+    /**
+     * A unit that reports no type bit, as a mock of a unit would.
+     */
+    private static final class UnitWithoutBit extends BasicUnit {
+
+        @Override
+        long getTypeBit() {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package nl.tudelft.jpacman.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the type queries of {@link UnitRegistry}.
+ *
+ * @author Jeroen Roosen
+ */
+class UnitRegistryTest {
+
+    /**
+     * The registry under test.
+     */
+    private final UnitRegistry registry = new UnitRegistry();
+
+    /**
+     * An empty registry has no units of any type.
+     */
+    @Test
+    void emptyRegistry() {
+        assertThat(registry.first(Unit.class)).isNull();
+        assertThat(registry.all(Unit.class)).isEmpty();
+        assertThat(registry.count(Unit.class)).isZero();
+    }
+
+    /**
+     * Units of one concrete type are listed in the order in which they were
+     * added, and only once.
+     */
+    @Test
+    void listsInOrderOfAddition() {
+        Unit first = new BasicUnit();
+        Unit second = new BasicUnit();
+        registry.add(first);
+        registry.add(second);
+        registry.add(first);
+
+        assertThat(registry.all(BasicUnit.class)).containsExactly(first, second);
+        assertThat(registry.first(BasicUnit.class)).isSameAs(first);
+        assertThat(registry.count(BasicUnit.class)).isEqualTo(2);
+    }
+
+    /**
+     * Removed units are no longer listed, and a unit added again is listed
+     * after the units that stayed.
+     */
+    @Test
+    void removesAndReadds() {
+        Unit first = new BasicUnit();
+        Unit second = new BasicUnit();
+        registry.add(first);
+        registry.add(second);
+
+        registry.remove(first);
+        assertThat(registry.all(BasicUnit.class)).containsExactly(second);
+        assertThat(registry.first(BasicUnit.class)).isSameAs(second);
+
+        registry.add(first);
+        assertThat(registry.all(BasicUnit.class)).containsExactly(second, first);
+    }
+
+    /**
+     * A query for a super type lists the units per concrete type, in the
+     * order in which the concrete types were first added, and only counts
+     * units of its subtypes.
+     */
+    @Test
+    void groupsSubtypesByConcreteType() {
+        Unit basic = new BasicUnit();
+        Unit other = new OtherUnit();
+        Unit laterBasic = new BasicUnit();
+        registry.add(basic);
+        registry.add(other);
+        registry.add(laterBasic);
+
+        assertThat(registry.all(Unit.class)).containsExactly(basic, laterBasic, other);
+        assertThat(registry.all(BasicUnit.class)).containsExactly(basic, laterBasic, other);
+        assertThat(registry.all(OtherUnit.class)).containsExactly(other);
+        assertThat(registry.count(OtherUnit.class)).isEqualTo(1);
+
+        registry.remove(basic);
+        registry.remove(laterBasic);
+        assertThat(registry.first(Unit.class)).isSameAs(other);
+    }
+
+    /**
+     * Excluding a type leaves out the units of all its subtypes.
+     */
+    @Test
+    void excludesSubtypes() {
+        Unit basic = new BasicUnit();
+        Unit other = new OtherUnit();
+        registry.add(basic);
+        registry.add(other);
+
+        assertThat(registry.allExcept(OtherUnit.class)).containsExactly(basic);
+        assertThat(registry.allExcept(BasicUnit.class)).isEmpty();
+    }
+
+    /**
+     * A subtype of the basic unit, to query for.
+     */
+    private static final class OtherUnit extends BasicUnit {
+    }
+}
@@ -0,0 +1,187 @@
+package nl.tudelft.jpacman.game;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the intents buffered by an {@link InputBuffer}, consumed by
+ * a game that only records the moves it is asked to make.
+ *
+ * @author Jeroen Roosen
+ */
+class InputBufferTest {
+
+    /**
+     * The time between two ticks of the buffer.
+     */
+    private static final long TICK = 20L;
+
+    /**
+     * The factory of the players.
+     */
+    private final PlayerFactory players = new PlayerFactory(new HeadlessSprites());
+
+    /**
+     * The player of the game.
+     */
+    private final Player player = players.createPacMan();
+
+    /**
+     * The game consuming the intents.
+     */
+    private final RecordingGame game = new RecordingGame(player);
+
+    /**
+     * The buffer under test.
+     */
+    private final InputBuffer buffer = new InputBuffer(() -> game, TICK);
+
+    /**
+     * Intents offered between two ticks are coalesced into a single move in
+     * the direction of the latest one.
+     */
+    @Test
+    void coalescesIntents() {
+        buffer.offer(player, Direction.NORTH);
+        buffer.offer(player, Direction.EAST);
+        buffer.offer(player, Direction.SOUTH);
+
+        buffer.consume();
+
+        assertThat(game.moves).containsExactly(Direction.SOUTH);
+        assertThat(buffer.getMetrics().getAppliedCount()).isEqualTo(1L);
+        assertThat(buffer.getMetrics().getCoalescedCount()).isEqualTo(2L);
+    }
+
+    /**
+     * Every tick makes at most one move per player, and an intent is applied
+     * only once.
+     */
+    @Test
+    void movesOncePerTick() {
+        buffer.offer(player, Direction.WEST);
+        buffer.consume();
+        buffer.consume();
+        assertThat(game.moves).containsExactly(Direction.WEST);
+
+        buffer.offer(player, Direction.EAST);
+        buffer.consume();
+        assertThat(game.moves).containsExactly(Direction.WEST, Direction.EAST);
+        assertThat(buffer.getMetrics().getAppliedCount()).isEqualTo(2L);
+        assertThat(buffer.getMetrics().getCoalescedCount()).isZero();
+    }
+
+    /**
+     * The intents of players that are not in the game are dropped, and not
+     * applied if they join the game later.
+     */
+    @Test
+    void dropsIntentsOfDepartedPlayers() {
+        Player departed = players.createPacMan();
+        buffer.offer(departed, Direction.NORTH);
+        buffer.consume();
+        assertThat(game.moves).isEmpty();
+
+        game.players.add(departed);
+        buffer.consume();
+        assertThat(game.moves).isEmpty();
+        assertThat(buffer.getMetrics().getAppliedCount()).isZero();
+    }
+
+    /**
+     * The latencies of the applied intents are measured.
+     */
+    @Test
+    void measuresLatency() {
+        assertThat(buffer.getMetrics().getAverageLatency()).isZero();
+
+        buffer.offer(player, Direction.NORTH);
+        buffer.consume();
+        buffer.offer(player, Direction.SOUTH);
+        buffer.consume();
+
+        InputMetrics metrics = buffer.getMetrics();
+        assertThat(metrics.getAverageLatency()).isGreaterThanOrEqualTo(0.0);
+        assertThat(metrics.getMaxLatency()).isGreaterThanOrEqualTo(metrics.getAverageLatency());
+    }
+
+    /**
+     * A started buffer consumes the intents every tick, and a stopped buffer
+     * keeps them pending.
+     */
+    @Test
+    void consumesEveryTickUntilStopped() {
+        VirtualNpcScheduler scheduler = new VirtualNpcScheduler();
+        buffer.start(scheduler);
+        buffer.offer(player, Direction.NORTH);
+        scheduler.advance(TICK);
+        buffer.offer(player, Direction.EAST);
+        scheduler.advance(TICK);
+        assertThat(game.moves).containsExactly(Direction.NORTH, Direction.EAST);
+
+        buffer.stop();
+        buffer.offer(player, Direction.SOUTH);
+        scheduler.advance(TICK);
+        assertThat(game.moves).hasSize(2);
+
+        buffer.consume();
+        assertThat(game.moves).containsExactly(Direction.NORTH, Direction.EAST, Direction.SOUTH);
+    }
+
+    /**
+     * A game that records the moves it is asked to make instead of making
+     * them.
+     *
+     * @author Jeroen Roosen
+     */
+    private static final class RecordingGame extends Game {
+
+        /**
+         * The players of the game.
+         */
+        private final List<Player> players = new ArrayList<>();
+
+        /**
+         * The directions of the moves asked for, in order.
+         */
+        private final List<Direction> moves = new ArrayList<>();
+
+        /**
+         * Creates a new game.
+         *
+         * @param player
+         *            The first player of the game.
+         */
+        RecordingGame(Player player) {
+            super(new DefaultPointCalculator());
+            players.add(player);
+        }
+
+        @Override
+        public List<Player> getPlayers() {
+            return players;
+        }
+
+        @Override
+        @SuppressWarnings("return.type.incompatible")
+        public Level getLevel() {
+            return null;
+        }
+
+        @Override
+        public void move(Player player, Direction direction) {
+            moves.add(direction);
+        }
+    }
+}
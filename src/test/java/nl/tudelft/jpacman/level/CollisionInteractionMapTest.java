@@ -0,0 +1,55 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the cached handler lookup of {@link CollisionInteractionMap}.
+ *
+ * @author Jeroen Roosen
+ */
+class CollisionInteractionMapTest {
+
+    /**
+     * The map under test.
+     */
+    private final CollisionInteractionMap map = new CollisionInteractionMap();
+
+    /**
+     * The handlers that were called, in order.
+     */
+    private final List<String> handled = new ArrayList<>();
+
+    /**
+     * The colliding pellet.
+     */
+    private final Pellet first = new Pellet(0, new EmptySprite());
+
+    /**
+     * The pellet collided with.
+     */
+    private final Pellet second = new Pellet(0, new EmptySprite());
+
+    /**
+     * A handler listed after a collision has been resolved is used for the
+     * next collision, even when a more general handler was cached.
+     */
+    @Test
+    void newHandlerReplacesCachedHandler() {
+        map.collide(first, second);
+        map.onCollision(Unit.class, Unit.class, (a, b) -> handled.add("unit"));
+        map.collide(first, second);
+        map.onCollision(Pellet.class, Pellet.class, (a, b) -> handled.add("pellet"));
+        map.collide(first, second);
+        map.collide(first, second);
+
+        assertThat(handled).containsExactly("unit", "pellet", "pellet");
+    }
+}
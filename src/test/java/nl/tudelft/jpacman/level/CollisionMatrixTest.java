@@ -0,0 +1,109 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the dispatch of {@link CollisionMatrix}.
+ *
+ * @author Jeroen Roosen
+ */
+class CollisionMatrixTest {
+
+    /**
+     * The matrix under test.
+     */
+    private final CollisionMatrix matrix = new CollisionMatrix();
+
+    /**
+     * The handlers that were called, in order.
+     */
+    private final List<String> handled = new ArrayList<>();
+
+    /**
+     * Handlers listed for superclasses apply to their subclasses, the most
+     * specific collider class being decisive.
+     */
+    @Test
+    void dispatchesToMostSpecificHandler() {
+        matrix.onCollision(Unit.class, Unit.class, (a, b) -> handled.add("unit"));
+        matrix.onCollision(Pellet.class, Unit.class, false, (a, b) -> handled.add("pellet"));
+
+        Pellet pellet = new Pellet(0, new EmptySprite());
+        matrix.collide(pellet, pellet);
+        matrix.collide(new BigPellet(), pellet);
+
+        assertThat(handled).containsExactly("pellet", "pellet");
+    }
+
+    /**
+     * Types first seen after the table was built are dispatched as well.
+     */
+    @Test
+    void coversTypesRegisteredLater() {
+        matrix.onCollision(Pellet.class, Pellet.class, (a, b) -> handled.add("pellet"));
+        Pellet pellet = new Pellet(0, new EmptySprite());
+        matrix.collide(pellet, pellet);
+
+        matrix.collide(pellet, new Pellet(0, new EmptySprite()) {
+        });
+
+        assertThat(handled).containsExactly("pellet", "pellet");
+    }
+
+    /**
+     * Units that report no type id, such as mocks, are dispatched by their
+     * class.
+     */
+    @Test
+    void dispatchesUnitsWithoutTypeId() {
+        matrix.onCollision(UnidentifiedPellet.class, Pellet.class, false,
+            (a, b) -> handled.add("unidentified"));
+        Pellet pellet = new Pellet(0, new EmptySprite());
+        Unit unidentified = new UnidentifiedPellet();
+
+        matrix.collide(unidentified, pellet);
+
+        assertThat(unidentified.getTypeId()).isZero();
+        assertThat(handled).containsExactly("unidentified");
+    }
+
+    /**
+     * A pellet subclass.
+     */
+    private static final class BigPellet extends Pellet {
+
+        /**
+         * Creates a new big pellet.
+         */
+        BigPellet() {
+            super(0, new EmptySprite());
+        }
+    }
+
+    /**
+     * A pellet that reports no type id, like a unit whose constructor never
+     * ran.
+     */
+    private static final class UnidentifiedPellet extends Pellet {
+
+        /**
+         * Creates a new unidentified pellet.
+         */
+        UnidentifiedPellet() {
+            super(0, new EmptySprite());
+        }
+
+        @Override
+        public int getTypeId() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the layers of the {@link FrameSnapshot}s a {@link Level}
+ * publishes.
+ *
+ * @author Jeroen Roosen
+ */
+class FrameSnapshotTest {
+
+    /**
+     * The sprites of the units.
+     */
+    private final PacManSprites sprites = new HeadlessSprites();
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * The player on the level.
+     */
+    private Player player;
+
+    /**
+     * Creates a started level with a player between an empty square and two
+     * pellets.
+     */
+    @BeforeEach
+    void setUp() {
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator(), new VirtualNpcScheduler());
+        level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(Arrays.asList(
+            "#######",
+            "# P.. #",
+            "#######"));
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+    }
+
+    /**
+     * The pellets and the other units are copied into separate layers, and
+     * the squares used to keep track of the copy are left empty.
+     */
+    @Test
+    void separatesPelletsFromUnits() {
+        BitSet visited = new BitSet();
+        FrameSnapshot snapshot = FrameSnapshot.capture(level.getBoard(), 0L, visited, null);
+
+        assertThat(cellsOf(snapshot.getPellets())).containsExactly(cell(3), cell(4));
+        assertThat(cellsOf(snapshot.getUnits())).containsExactly(cell(2));
+        assertThat(snapshot.getUnits().getSprite(0)).isSameAs(player.getSprite());
+        assertThat(visited.isEmpty()).isTrue();
+    }
+
+    /**
+     * A move that eats no pellet publishes a snapshot that shares the pellet
+     * layer of the previous one.
+     */
+    @Test
+    void sharesPelletsUntilEaten() {
+        FrameSnapshot before = level.getSnapshot();
+        level.move(player, Direction.WEST);
+        FrameSnapshot after = level.getSnapshot();
+
+        assertThat(after.getPellets()).isSameAs(before.getPellets());
+        assertThat(cellsOf(after.getUnits())).containsExactly(cell(1));
+    }
+
+    /**
+     * A move that eats a pellet publishes a new pellet layer without it.
+     */
+    @Test
+    void recapturesEatenPellets() {
+        FrameSnapshot before = level.getSnapshot();
+        level.move(player, Direction.EAST);
+        FrameSnapshot after = level.getSnapshot();
+
+        assertThat(after.getPellets()).isNotSameAs(before.getPellets());
+        assertThat(cellsOf(after.getPellets())).containsExactly(cell(4));
+        assertThat(cellsOf(after.getUnits())).containsExactly(cell(3));
+    }
+
+    private int cell(int x) {
+        Board board = level.getBoard();
+        return board.squareAt(x, 1).getIndex();
+    }
+
+    private static Integer[] cellsOf(SnapshotLayer layer) {
+        Integer[] cells = new Integer[layer.size()];
+        for (int entry = 0; entry < layer.size(); entry++) {
+            cells[entry] = layer.getCell(entry);
+        }
+        return cells;
+    }
+}
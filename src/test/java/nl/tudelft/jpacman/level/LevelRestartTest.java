@@ -0,0 +1,168 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostColor;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the moves of a {@link Level} that is stopped and started
+ * again while moves are still on their way. A move belongs to the start in
+ * which it was asked for, and is dropped after a restart.
+ *
+ * @author Jeroen Roosen
+ */
+class LevelRestartTest {
+
+    /**
+     * The time between two moves of the ghost.
+     */
+    private static final int INTERVAL = 100;
+
+    /**
+     * The width of the board.
+     */
+    private static final int WIDTH = 5;
+
+    /**
+     * The scheduler driving the ghost.
+     */
+    private final VirtualNpcScheduler scheduler = new VirtualNpcScheduler();
+
+    /**
+     * The board of the level.
+     */
+    private Board board;
+
+    /**
+     * The ghost on the level.
+     */
+    private RestartingGhost ghost;
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * Creates a level with a ghost on a single row of ground that moves east.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new HeadlessSprites();
+        BoardFactory boardFactory = new BoardFactory(sprites);
+        Square[][] grid = new Square[WIDTH][1];
+        for (int x = 0; x < WIDTH; x++) {
+            grid[x][0] = boardFactory.createGround();
+        }
+        board = boardFactory.createBoard(grid);
+        ghost = new RestartingGhost(sprites);
+        ghost.occupy(board.squareAt(0, 0));
+        level = new Level(board, Collections.singletonList(ghost), new ArrayList<>(),
+            new PlayerCollisionMatrix(new DefaultPointCalculator()), scheduler);
+    }
+
+    /**
+     * A ghost that planned its move before a quick stop and start does not
+     * make that move, and the ghost moves on the schedule of the new start.
+     */
+    @Test
+    void dropsMovePlannedBeforeRestart() {
+        level.start();
+        ghost.restartOnPlan = true;
+
+        scheduler.advance(INTERVAL / 2);
+        assertThat(ghost.getSquare()).isSameAs(board.squareAt(0, 0));
+        assertThat(level.isInProgress()).isTrue();
+
+        scheduler.advance(INTERVAL / 2);
+        assertThat(ghost.getSquare()).isSameAs(board.squareAt(1, 0));
+
+        scheduler.advance(INTERVAL);
+        assertThat(ghost.getSquare()).isSameAs(board.squareAt(2, 0));
+    }
+
+    /**
+     * A queued move that is applied after a quick stop and start is dropped,
+     * while moves queued after the restart are applied.
+     */
+    @Test
+    void dropsQueuedMoveAfterRestart() {
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        level.queueMoves(tasks::add);
+        level.start();
+
+        level.move(ghost, Direction.EAST);
+        level.stop();
+        level.start();
+        runAll(tasks);
+        assertThat(ghost.getSquare()).isSameAs(board.squareAt(0, 0));
+
+        level.move(ghost, Direction.EAST);
+        runAll(tasks);
+        assertThat(ghost.getSquare()).isSameAs(board.squareAt(1, 0));
+    }
+
+    /**
+     * Runs the tasks given to an executor.
+     *
+     * @param tasks
+     *            The tasks to run.
+     */
+    private static void runAll(Queue<Runnable> tasks) {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    /**
+     * A ghost that always moves east, and can stop and start its level while
+     * it plans a move.
+     *
+     * @author Jeroen Roosen
+     */
+    private final class RestartingGhost extends Ghost {
+
+        /**
+         * <code>true</code> to restart the level while planning the next
+         * move.
+         */
+        private boolean restartOnPlan;
+
+        /**
+         * Creates a new ghost.
+         *
+         * @param sprites
+         *            The sprites of the ghost.
+         */
+        RestartingGhost(PacManSprites sprites) {
+            super(sprites.getGhostSprite(GhostColor.RED), INTERVAL, 0);
+        }
+
+        @Override
+        public Optional<Direction> nextAiMove() {
+            if (restartOnPlan) {
+                restartOnPlan = false;
+                level.stop();
+                level.start();
+            }
+            return Optional.of(Direction.EAST);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the pellet count a {@link Level} keeps up to date as pellets
+ * occupy and leave the squares of its board.
+ *
+ * @author Jeroen Roosen
+ */
+class PelletCountTest {
+
+    /**
+     * The sprites of the units.
+     */
+    private final PacManSprites sprites = new HeadlessSprites();
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * The player on the level.
+     */
+    private Player player;
+
+    /**
+     * Creates a started level with a player left of two pellets.
+     */
+    @BeforeEach
+    void setUp() {
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator(), new VirtualNpcScheduler());
+        level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(Arrays.asList(
+            "#######",
+            "#P.. ##",
+            "#######"));
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+    }
+
+    /**
+     * The pellets on the map are counted when the level is created.
+     */
+    @Test
+    void countsPelletsOfMap() {
+        assertThat(level.remainingPellets()).isEqualTo(2);
+    }
+
+    /**
+     * A pellet eaten by the player is no longer counted.
+     */
+    @Test
+    void countsEatenPellet() {
+        level.move(player, Direction.EAST);
+
+        assertThat(level.remainingPellets()).isEqualTo(1);
+        assertThat(player.getScore()).isPositive();
+    }
+
+    /**
+     * A pellet that is eaten and put back on the board is counted again.
+     */
+    @Test
+    void countsReaddedPellet() {
+        Square square = level.getBoard().squareAt(2, 1);
+        Pellet pellet = square.findOccupant(Pellet.class);
+        level.move(player, Direction.EAST);
+        level.move(player, Direction.WEST);
+
+        pellet.occupy(square);
+
+        assertThat(level.remainingPellets()).isEqualTo(2);
+    }
+
+    /**
+     * A pellet placed on the board after the level was created is counted,
+     * and a pellet moved to another square is counted only once.
+     */
+    @Test
+    void countsPlacedPellet() {
+        Pellet pellet = new Pellet(1, sprites.getPelletSprite());
+        pellet.occupy(level.getBoard().squareAt(4, 1));
+        assertThat(level.remainingPellets()).isEqualTo(3);
+
+        pellet.occupy(level.getBoard().squareAt(1, 1));
+        assertThat(level.remainingPellets()).isEqualTo(3);
+    }
+
+    /**
+     * Eating the last pellet wins the level.
+     */
+    @Test
+    void winsWhenAllPelletsAreEaten() {
+        AtomicBoolean won = new AtomicBoolean();
+        level.addObserver(new Level.LevelObserver() {
+            @Override
+            public void levelWon() {
+                won.set(true);
+            }
+
+            @Override
+            public void levelLost() {
+            }
+        });
+        level.move(player, Direction.EAST);
+        assertThat(won.get()).isFalse();
+
+        level.move(player, Direction.EAST);
+        assertThat(level.remainingPellets()).isZero();
+        assertThat(won.get()).isTrue();
+    }
+}
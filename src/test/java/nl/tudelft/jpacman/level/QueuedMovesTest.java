@@ -0,0 +1,232 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import nl.tudelft.jpacman.RandomService;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the moves of a {@link Level} that
+ * {@link Level#queueMoves(java.util.concurrent.Executor) queues its moves}.
+ * The executor only collects the tasks it is given, so that the test decides
+ * when the queued moves are applied.
+ *
+ * @author Jeroen Roosen
+ */
+class QueuedMovesTest {
+
+    /**
+     * The number of moves every thread queues.
+     */
+    private static final int MOVES = 500;
+
+    /**
+     * The tasks given to the executor and not run yet.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The moves applied, in order.
+     */
+    private final List<Unit> movedUnits = new ArrayList<>();
+
+    /**
+     * The directions of the moves applied, in order.
+     */
+    private final List<Direction> movedDirections = new ArrayList<>();
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * The ghosts on the board, which nothing but the test moves.
+     */
+    private List<Ghost> ghosts;
+
+    /**
+     * Creates a started level with four ghosts and no players, queueing its
+     * moves on the executor of the test.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new HeadlessSprites();
+        RandomService random = new RandomService(1L);
+        LevelFactory levelFactory = new LevelFactory(sprites,
+            new GhostFactory(sprites, random.split()), new DefaultPointCalculator(),
+            new VirtualNpcScheduler(), random.split());
+        level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(Arrays.asList(
+            "#########",
+            "#G     G#",
+            "#       #",
+            "#   P   #",
+            "#G     G#",
+            "#########"));
+        ghosts = level.getBoard().findUnits(Ghost.class);
+        level.addMoveObserver((unit, direction) -> {
+            movedUnits.add(unit);
+            movedDirections.add(direction);
+        });
+        level.queueMoves(tasks::add);
+        level.start();
+    }
+
+    /**
+     * Moves are applied only when the executor runs, in the order in which
+     * they were queued.
+     */
+    @Test
+    void appliesMovesInOrder() {
+        List<Unit> units = new ArrayList<>();
+        List<Direction> directions = new ArrayList<>();
+        Random random = new Random(1L);
+        for (int i = 0; i < MOVES; i++) {
+            Ghost ghost = ghosts.get(random.nextInt(ghosts.size()));
+            Direction direction = randomDirection(random);
+            units.add(ghost);
+            directions.add(direction);
+            level.move(ghost, direction);
+        }
+        assertThat(movedUnits).isEmpty();
+
+        runTasks();
+
+        assertThat(movedUnits).isEqualTo(units);
+        assertThat(movedDirections).isEqualTo(directions);
+    }
+
+    /**
+     * Moves queued from several threads at once are all applied, those of
+     * each thread in the order in which it queued them, as a single batch
+     * with a single snapshot.
+     *
+     * @throws InterruptedException
+     *             When the test is interrupted.
+     */
+    @Test
+    void appliesConcurrentMovesAsOneBatch() throws InterruptedException {
+        long version = level.getSnapshot().getVersion();
+        Map<Unit, List<Direction>> queued = new IdentityHashMap<>();
+        List<Thread> threads = new ArrayList<>();
+        for (Ghost ghost : ghosts) {
+            List<Direction> directions = new ArrayList<>();
+            Random random = new Random(threads.size());
+            for (int i = 0; i < MOVES; i++) {
+                directions.add(randomDirection(random));
+            }
+            queued.put(ghost, directions);
+            threads.add(new Thread(() -> directions.forEach(d -> level.move(ghost, d))));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(tasks).hasSize(1);
+
+        runTasks();
+
+        assertThat(level.getSnapshot().getVersion()).isEqualTo(version + 1);
+        for (Ghost ghost : ghosts) {
+            assertThat(movesOf(ghost)).isEqualTo(queued.get(ghost));
+        }
+    }
+
+    /**
+     * Every batch publishes one snapshot, however many moves it applies.
+     */
+    @Test
+    void publishesOneSnapshotPerBatch() {
+        long version = level.getSnapshot().getVersion();
+        level.move(ghosts.get(0), Direction.EAST);
+        level.move(ghosts.get(1), Direction.WEST);
+        runTasks();
+        assertThat(level.getSnapshot().getVersion()).isEqualTo(version + 1);
+
+        level.move(ghosts.get(0), Direction.SOUTH);
+        runTasks();
+        assertThat(level.getSnapshot().getVersion()).isEqualTo(version + 2);
+        assertThat(movedUnits).hasSize(3);
+    }
+
+    /**
+     * Moves still queued when the level stops are dropped, and not applied
+     * once it is started again.
+     */
+    @Test
+    void dropsMovesAfterStop() {
+        long version = level.getSnapshot().getVersion();
+        level.move(ghosts.get(0), Direction.EAST);
+        level.move(ghosts.get(1), Direction.WEST);
+        level.stop();
+        runTasks();
+
+        assertThat(movedUnits).isEmpty();
+        assertThat(level.getSnapshot().getVersion()).isEqualTo(version);
+
+        level.start();
+        level.move(ghosts.get(2), Direction.NORTH);
+        runTasks();
+        assertThat(movedUnits).containsExactly(ghosts.get(2));
+    }
+
+    /**
+     * Runs the tasks given to the executor, including those given while
+     * running.
+     */
+    private void runTasks() {
+        Runnable task = tasks.poll();
+        while (task != null) {
+            task.run();
+            task = tasks.poll();
+        }
+    }
+
+    /**
+     * Draws a random direction.
+     *
+     * @param random
+     *            The random generator to draw from.
+     * @return The direction drawn.
+     */
+    private static Direction randomDirection(Random random) {
+        return Direction.values()[random.nextInt(Direction.values().length)];
+    }
+
+    /**
+     * Returns the directions of the moves applied to a unit.
+     *
+     * @param unit
+     *            The unit that moved.
+     * @return The directions the unit moved in, in order.
+     */
+    private List<Direction> movesOf(Unit unit) {
+        List<Direction> applied = new ArrayList<>();
+        for (int i = 0; i < movedUnits.size(); i++) {
+            if (movedUnits.get(i) == unit) {
+                applied.add(movedDirections.get(i));
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,120 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the {@link SharedNpcScheduler} and the levels it drives.
+ *
+ * @author Jeroen Roosen
+ */
+class SharedNpcSchedulerTest {
+
+    /**
+     * The longest time to wait for a task or move, in seconds.
+     */
+    private static final long TIMEOUT = 5L;
+
+    /**
+     * The time after which the ghosts of a stopped level would have moved
+     * several times, in milliseconds.
+     */
+    private static final long QUIET = 1000L;
+
+    /**
+     * The scheduler under test.
+     */
+    private final SharedNpcScheduler scheduler = SharedNpcScheduler.getInstance();
+
+    /**
+     * Tasks run once after their delay on daemon threads of the pool.
+     *
+     * @throws InterruptedException
+     *             When the test is interrupted.
+     */
+    @Test
+    void runsTasksOnDaemonThreads() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        scheduler.schedule(() -> {
+            thread.set(Thread.currentThread());
+            ran.countDown();
+        }, 10L);
+
+        assertThat(ran.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+        assertThat(thread.get().isDaemon()).isTrue();
+        assertThat(thread.get().getName().startsWith("npc-")).isTrue();
+        assertThat(SharedNpcScheduler.getInstance()).isSameAs(scheduler);
+    }
+
+    /**
+     * The ghosts of a started level move, stop moving once the level is
+     * stopped, and move again once it is started again.
+     *
+     * @throws InterruptedException
+     *             When the test is interrupted.
+     */
+    @Test
+    void startsAndStopsLevel() throws InterruptedException {
+        PacManSprites sprites = new HeadlessSprites();
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator(), scheduler);
+        Level level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(
+            Arrays.asList(
+                "#######",
+                "#G   G#",
+                "# ### #",
+                "#G   G#",
+                "#######"));
+        AtomicInteger moves = new AtomicInteger();
+        level.addMoveObserver((unit, direction) -> moves.incrementAndGet());
+
+        level.start();
+        assertThat(awaitMoves(moves, 1)).isTrue();
+
+        level.stop();
+        Thread.sleep(QUIET / 2);
+        int stopped = moves.get();
+        Thread.sleep(QUIET);
+        assertThat(moves.get()).isEqualTo(stopped);
+
+        level.start();
+        assertThat(awaitMoves(moves, stopped + 1)).isTrue();
+        level.stop();
+    }
+
+    /**
+     * Waits until a number of moves has been made.
+     *
+     * @param moves
+     *            The number of moves made so far.
+     * @param expected
+     *            The number of moves to wait for.
+     * @return <code>true</code> iff the moves were made in time.
+     * @throws InterruptedException
+     *             When the test is interrupted.
+     */
+    private static boolean awaitMoves(AtomicInteger moves, int expected)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (moves.get() < expected) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10L);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the order in which {@link VirtualNpcScheduler} runs tasks.
+ *
+ * @author Jeroen Roosen
+ */
+class VirtualNpcSchedulerTest {
+
+    /**
+     * The scheduler under test.
+     */
+    private final VirtualNpcScheduler scheduler = new VirtualNpcScheduler();
+
+    /**
+     * Tasks run in order of due time, and only once they are due.
+     */
+    @Test
+    void runsDueTasksInOrder() {
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule(() -> runs.add("late"), 30L);
+        scheduler.schedule(() -> runs.add("early"), 10L);
+        scheduler.schedule(() -> runs.add("also early"), 10L);
+
+        scheduler.advance(20L);
+        assertThat(runs).containsExactly("early", "also early");
+
+        scheduler.advance(10L);
+        assertThat(runs).containsExactly("early", "also early", "late");
+        assertThat(scheduler.getTime()).isEqualTo(30L);
+    }
+
+    /**
+     * Tasks rescheduled while advancing run again within the same advance,
+     * relative to the time at which they ran.
+     */
+    @Test
+    void runsRescheduledTasks() {
+        List<Long> runs = new ArrayList<>();
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                runs.add(scheduler.getTime());
+                scheduler.schedule(this, 15L);
+            }
+        }, 5L);
+
+        scheduler.advance(40L);
+
+        assertThat(runs).containsExactly(5L, 20L, 35L);
+    }
+}
@@ -0,0 +1,170 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the array based {@link BreadthFirstSearch}.
+ *
+ * @author Jeroen Roosen
+ */
+class BreadthFirstSearchTest {
+
+    /**
+     * The sprites of the boards and units.
+     */
+    private final PacManSprites sprites = new HeadlessSprites();
+
+    /**
+     * The parser creating the boards.
+     */
+    private final MapParser parser = new MapParser(
+        new LevelFactory(sprites, new GhostFactory(sprites), new DefaultPointCalculator(),
+            new VirtualNpcScheduler()),
+        new BoardFactory(sprites));
+
+    /**
+     * The unit whose access to squares is checked.
+     */
+    private final Player traveller = new PlayerFactory(sprites).createPacMan();
+
+    /**
+     * The search of the current thread.
+     */
+    private final BreadthFirstSearch search = BreadthFirstSearch.forCurrentThread();
+
+    /**
+     * A search that visits every square of the board before giving up does
+     * not run out of queue, and finds no path to a walled in square.
+     */
+    @Test
+    void visitsWholeBoard() {
+        Board board = parse(
+            "#######",
+            "#     #",
+            "# ### #",
+            "# # # #",
+            "# ### #",
+            "#     #",
+            "#######");
+
+        assertThat(search.shortestPath(board.squareAt(1, 1), board.squareAt(3, 3), traveller))
+            .isNull();
+        assertThat(search.shortestPath(board.squareAt(1, 1), board.squareAt(5, 5), traveller))
+            .hasSize(8);
+    }
+
+    /**
+     * Without a traveller, terrain is ignored and paths run through walls.
+     */
+    @Test
+    void ignoresTerrainWithoutTraveller() {
+        Board board = parse(
+            "#####",
+            "# # #",
+            "#####");
+
+        assertThat(search.shortestPath(board.squareAt(1, 1), board.squareAt(3, 1), traveller))
+            .isNull();
+        assertThat(search.shortestPath(board.squareAt(1, 1), board.squareAt(3, 1), null))
+            .containsExactly(Direction.EAST, Direction.EAST);
+    }
+
+    /**
+     * Paths may wrap around the edges of the board.
+     */
+    @Test
+    void wrapsAroundEdges() {
+        Board board = parse(
+            "#####",
+            "     ",
+            "#####");
+
+        assertThat(search.shortestPath(board.squareAt(0, 1), board.squareAt(4, 1), traveller))
+            .containsExactly(Direction.WEST);
+    }
+
+    /**
+     * The buffers of a thread are reused for boards of different sizes,
+     * growing for larger boards and giving the same results as before on
+     * smaller ones. Other threads have buffers of their own.
+     *
+     * @throws InterruptedException
+     *             When the test is interrupted.
+     */
+    @Test
+    void reusesBuffersAcrossBoards() throws InterruptedException {
+        Board small = parse(
+            "#####",
+            "#   #",
+            "#####");
+        Board large = parse(
+            "##########",
+            "#        #",
+            "#        #",
+            "#        #",
+            "##########");
+
+        List<Direction> before = search.shortestPath(small.squareAt(1, 1),
+            small.squareAt(3, 1), traveller);
+        assertThat(search.shortestPath(large.squareAt(1, 1), large.squareAt(8, 3), traveller))
+            .hasSize(9);
+        assertThat(search.shortestPath(small.squareAt(1, 1), small.squareAt(3, 1), traveller))
+            .isEqualTo(before);
+        assertThat(BreadthFirstSearch.forCurrentThread()).isSameAs(search);
+
+        AtomicReference<BreadthFirstSearch> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(BreadthFirstSearch.forCurrentThread()));
+        thread.start();
+        thread.join();
+        assertThat(other.get()).isNotNull();
+        assertThat(other.get()).isNotSameAs(search);
+    }
+
+    /**
+     * The nearest unit of a type is found by walking distance, ignoring
+     * terrain, including on the starting square itself.
+     */
+    @Test
+    void findsNearest() {
+        Board board = parse(
+            "#######",
+            "#.   .#",
+            "#######");
+
+        Unit nearest = search.nearest(Pellet.class, board.squareAt(4, 1));
+        assertThat(nearest).isSameAs(board.squareAt(5, 1).findOccupant(Pellet.class));
+        Unit here = search.nearest(Pellet.class, board.squareAt(1, 1));
+        assertThat(here).isSameAs(board.squareAt(1, 1).findOccupant(Pellet.class));
+        assertThat(search.nearest(Player.class, board.squareAt(1, 1))).isNull();
+    }
+
+    /**
+     * Parses a board.
+     *
+     * @param rows
+     *            The rows of the map.
+     * @return The board of the map.
+     */
+    private Board parse(String... rows) {
+        return parser.parseMap(Arrays.asList(rows)).getBoard();
+    }
+}
@@ -0,0 +1,201 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceOracle;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the shared {@link FlowField} towards a player, compared to
+ * the searches of {@link Navigation}.
+ *
+ * @author Jeroen Roosen
+ */
+class FlowFieldTest {
+
+    /**
+     * The number of threads looking up a field at the same time.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * The level the player is on.
+     */
+    private Level level;
+
+    /**
+     * The board of the level.
+     */
+    private Board board;
+
+    /**
+     * The player the fields lead to.
+     */
+    private Player player;
+
+    /**
+     * Creates a level with a player in a small maze with a dead end.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new HeadlessSprites();
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator(), new VirtualNpcScheduler());
+        level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(Arrays.asList(
+            "#########",
+            "#P      #",
+            "# ### # #",
+            "#   # # #",
+            "### #   #",
+            "#########"));
+        board = level.getBoard();
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+    }
+
+    /**
+     * The field gives the distance of a search from every square, and its
+     * steps lead one square closer to the player.
+     */
+    @Test
+    void matchesSearch() {
+        assertMatchesSearch(FlowField.towards(player));
+        assertThat(FlowField.towards(player).distanceFrom(board.squareAt(0, 0)))
+            .isEqualTo(DistanceOracle.UNREACHABLE);
+    }
+
+    /**
+     * The field still matches the searches after the player has moved more
+     * often than there are buffers to compute the distances in.
+     */
+    @Test
+    void matchesSearchAfterMoves() {
+        Direction[] moves = {Direction.EAST, Direction.EAST, Direction.WEST, Direction.EAST};
+        for (Direction move : moves) {
+            level.move(player, move);
+            assertMatchesSearch(FlowField.towards(player));
+        }
+    }
+
+    /**
+     * Every lookup for the same player returns the same field, which is
+     * recomputed once the player has moved.
+     */
+    @Test
+    void sharedAndUpdated() {
+        FlowField field = FlowField.towards(player);
+        Square corner = board.squareAt(7, 1);
+        assertThat(field.distanceFrom(corner)).isEqualTo(6);
+
+        level.move(player, Direction.EAST);
+
+        assertThat(FlowField.towards(player)).isSameAs(field);
+        assertThat(field.distanceFrom(corner)).isEqualTo(5);
+    }
+
+    /**
+     * Threads looking up the field of the same player at the same time all
+     * get the same field.
+     *
+     * @throws InterruptedException
+     *             When the test is interrupted.
+     */
+    @Test
+    void sharedAcrossThreads() throws InterruptedException {
+        Set<FlowField> fields = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    fields.add(FlowField.towards(player));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(fields).hasSize(1);
+    }
+
+    /**
+     * A heading from the field gives the step and distance that the separate
+     * lookups give.
+     */
+    @Test
+    void headingMatchesLookups() {
+        FlowField field = FlowField.towards(player);
+
+        for (Square square : accessibleSquares()) {
+            Navigation.Heading heading = field.headingFrom(square);
+            assertThat(heading.getDirection()).isEqualTo(field.stepFrom(square));
+            assertThat(heading.getDistance()).isEqualTo(field.distanceFrom(square));
+        }
+    }
+
+    /**
+     * Asserts that a field gives the distance of a search from every square,
+     * and that its steps lead one square closer to the player.
+     *
+     * @param field
+     *            The field leading to the player.
+     */
+    private void assertMatchesSearch(FlowField field) {
+        Square target = player.getSquare();
+        for (Square square : accessibleSquares()) {
+            int expected = Navigation.distance(square, target, player);
+            assertThat(field.distanceFrom(square)).isEqualTo(expected);
+            Direction step = field.stepFrom(square);
+            if (square == target) {
+                assertThat(step).isNull();
+            } else {
+                assertThat(step).isNotNull();
+                assertThat(field.distanceFrom(square.getSquareAt(step)))
+                    .isEqualTo(expected - 1);
+            }
+        }
+    }
+
+    /**
+     * @return The squares of the board the player may occupy.
+     */
+    private List<Square> accessibleSquares() {
+        List<Square> squares = new ArrayList<>();
+        for (int index = 0; index < board.getSquareCount(); index++) {
+            Square square = board.squareAt(index);
+            if (square.isAccessibleTo(player)) {
+                squares.add(square);
+            }
+        }
+        return squares;
+    }
+}
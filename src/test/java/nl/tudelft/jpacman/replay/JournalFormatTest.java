@@ -0,0 +1,44 @@
+package nl.tudelft.jpacman.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the encodings of {@link JournalFormat}.
+ *
+ * @author Jeroen Roosen
+ */
+class JournalFormatTest {
+
+    /**
+     * Variable length integers read back as written, small ones in a single
+     * byte.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @Test
+    void varIntRoundTrip() throws IOException {
+        int[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        JournalFormat.writeVarInt(out, JournalFormat.moveTag(30, 3));
+        assertThat(bytes.size()).isEqualTo(1);
+        for (int value : values) {
+            JournalFormat.writeVarInt(out, value);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(JournalFormat.readVarInt(in)).isEqualTo(JournalFormat.moveTag(30, 3));
+        for (int value : values) {
+            assertThat(JournalFormat.readVarInt(in)).isEqualTo(value);
+        }
+    }
+}
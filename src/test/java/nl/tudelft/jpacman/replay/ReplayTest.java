@@ -0,0 +1,208 @@
+package nl.tudelft.jpacman.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import nl.tudelft.jpacman.HeadlessLauncher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for recording games with a {@link JournalRecorder} and playing
+ * them back with a {@link Replay}.
+ *
+ * @author Jeroen Roosen
+ */
+class ReplayTest {
+
+    /**
+     * The map the games are played on.
+     */
+    private static final String MAP = "/forest.txt";
+
+    /**
+     * The seed the games are created with.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * The number of moves between keyframes, small to get many of them.
+     */
+    private static final int INTERVAL = 8;
+
+    /**
+     * The state of the recorded game when the recording ended.
+     */
+    private String recordedState;
+
+    /**
+     * The journal of the recorded game.
+     */
+    private byte[] recording;
+
+    /**
+     * Plays and records a game in which the player moves in random
+     * directions while the ghosts are driven by a virtual scheduler.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @BeforeEach
+    void record() throws IOException {
+        VirtualNpcScheduler scheduler = new VirtualNpcScheduler();
+        HeadlessLauncher launcher = new HeadlessLauncher().withNpcScheduler(scheduler);
+        launcher.withMapFile(MAP);
+        launcher.withSeed(SEED);
+        Game game = launcher.makeGame();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JournalRecorder recorder = new JournalRecorder(game, MAP, SEED, bytes, INTERVAL);
+
+        game.start();
+        Player player = game.getPlayers().get(0);
+        Random random = new Random(1L);
+        for (int i = 0; i < 100 && game.isInProgress(); i++) {
+            game.move(player, Direction.values()[random.nextInt(Direction.values().length)]);
+            scheduler.advance(100L);
+        }
+        game.stop();
+        recorder.close();
+
+        recordedState = describe(game);
+        recording = bytes.toByteArray();
+    }
+
+    /**
+     * Playing back a whole journal ends in the state the recorded game ended
+     * in, including the pellets eaten and the score.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @Test
+    void finishReproducesGame() throws IOException {
+        Journal journal = Journal.read(new ByteArrayInputStream(recording));
+        assertThat(journal.getKeyframeCount()).isEqualTo(journal.getLength() / INTERVAL);
+        assertThat(journal.getKeyframeCount()).isGreaterThan(2);
+
+        Replay replay = new Replay(journal);
+        replay.finish();
+
+        assertThat(replay.isFinished()).isTrue();
+        assertThat(describe(replay.getGame())).isEqualTo(recordedState);
+    }
+
+    /**
+     * Seeking backwards, forwards across keyframes and to moves between
+     * keyframes gives the same state as playing the moves one by one.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @Test
+    void seekMatchesStepping() throws IOException {
+        Journal journal = Journal.read(new ByteArrayInputStream(recording));
+        List<String> states = new ArrayList<>();
+        Replay stepped = new Replay(journal);
+        states.add(describe(stepped.getGame()));
+        while (!stepped.isFinished()) {
+            stepped.step();
+            states.add(describe(stepped.getGame()));
+        }
+
+        int length = journal.getLength();
+        Replay replay = new Replay(journal);
+        for (int target : new int[] {length, length / 2 + 1, 3, 2 * INTERVAL + 5, INTERVAL,
+                                     length - 1, 0, length}) {
+            replay.seek(target);
+            assertThat(replay.getTick()).isEqualTo(target);
+            assertThat(describe(replay.getGame())).isEqualTo(states.get(target));
+        }
+    }
+
+    /**
+     * A journal cut off in the middle of a record is read up to its last
+     * complete record and plays back as the start of the full game.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @Test
+    void readsTruncatedJournal() throws IOException {
+        Journal full = Journal.read(new ByteArrayInputStream(recording));
+        byte[] truncated = Arrays.copyOf(recording, recording.length * 2 / 3);
+        Journal journal = Journal.read(new ByteArrayInputStream(truncated));
+
+        assertThat(journal.getLength()).isPositive();
+        assertThat(journal.getLength()).isLessThan(full.getLength());
+
+        Replay replay = new Replay(journal);
+        replay.finish();
+        Replay reference = new Replay(full);
+        reference.seek(journal.getLength());
+        assertThat(describe(replay.getGame())).isEqualTo(describe(reference.getGame()));
+    }
+
+    /**
+     * A move of a unit beyond the players and ghosts of the header is
+     * rejected.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @Test
+    void rejectsMoveOfUnknownUnit() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(JournalFormat.MAGIC);
+        out.writeByte(JournalFormat.VERSION);
+        out.writeUTF(MAP);
+        out.writeLong(SEED);
+        out.writeInt(INTERVAL);
+        out.writeInt(1);
+        out.writeInt(2);
+        out.writeInt(0);
+        JournalFormat.writeVarInt(out, JournalFormat.moveTag(2, 0));
+        JournalFormat.writeVarInt(out, JournalFormat.moveTag(3, 0));
+
+        assertThatThrownBy(() -> Journal.read(new ByteArrayInputStream(bytes.toByteArray())))
+            .isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Describes the state of a game: the occupants of every square with their
+     * directions, and the lives and scores of the players.
+     *
+     * @param game
+     *            The game to describe.
+     * @return The description.
+     */
+    private static String describe(Game game) {
+        StringBuilder description = new StringBuilder();
+        Board board = game.getLevel().getBoard();
+        for (int index = 0; index < board.getWidth() * board.getHeight(); index++) {
+            for (Unit unit : board.squareAt(index).getOccupants()) {
+                description.append(index).append(':').append(unit.getClass().getSimpleName())
+                    .append(unit.getDirection()).append(' ');
+            }
+        }
+        for (Player player : game.getPlayers()) {
+            description.append(player.isAlive()).append('/').append(player.getScore());
+        }
+        return description.append('/').append(game.getLevel().remainingPellets()).toString();
+    }
+}
@@ -0,0 +1,105 @@
+package nl.tudelft.jpacman.sprite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the frames {@link AnimatedSprite} shows as its clock moves.
+ *
+ * @author Jeroen Roosen
+ */
+class AnimatedSpriteTest {
+
+    /**
+     * The delay between frames.
+     */
+    private static final int DELAY = 100;
+
+    /**
+     * The clock driving the animations.
+     */
+    private final FrameClock clock = new FrameClock(0L);
+
+    /**
+     * Creates an animation whose frames have their number plus one as width.
+     */
+    private AnimatedSprite animation(int frames, boolean loop) {
+        Sprite[] sprites = new Sprite[frames];
+        for (int i = 0; i < frames; i++) {
+            sprites[i] = new NumberedSprite(i + 1);
+        }
+        return new AnimatedSprite(sprites, DELAY, loop, true, clock);
+    }
+
+    private int frameAt(AnimatedSprite sprite, long time) {
+        clock.setTime(time);
+        sprite.draw(null, 0, 0, 0, 0);
+        return sprite.getWidth() - 1;
+    }
+
+    /**
+     * The frame stays the same until the clock moves.
+     */
+    @Test
+    void standsStillWithClock() {
+        AnimatedSprite sprite = animation(4, true);
+        assertThat(frameAt(sprite, 0L)).isEqualTo(0);
+        assertThat(frameAt(sprite, 0L)).isEqualTo(0);
+    }
+
+    /**
+     * A looping animation wraps around, also after a long pause.
+     */
+    @Test
+    void loopsAfterLongPause() {
+        AnimatedSprite sprite = animation(4, true);
+        assertThat(frameAt(sprite, 150L)).isEqualTo(2);
+        assertThat(frameAt(sprite, 100_000_050L)).isEqualTo(1);
+    }
+
+    /**
+     * A non-looping animation ends with an empty frame and stops.
+     */
+    @Test
+    void endsWithoutLoop() {
+        AnimatedSprite sprite = animation(3, false);
+        assertThat(frameAt(sprite, 250L)).isEqualTo(-1);
+        sprite.restart();
+        assertThat(frameAt(sprite, 250L)).isEqualTo(0);
+    }
+
+    /**
+     * A sprite of a fixed width that draws nothing.
+     */
+    private static final class NumberedSprite implements Sprite {
+
+        private final int width;
+
+        NumberedSprite(int width) {
+            this.width = width;
+        }
+
+        @Override
+        public void draw(Graphics graphics, int x, int y, int width, int height) {
+            // Nothing to draw.
+        }
+
+        @Override
+        public Sprite split(int x, int y, int width, int height) {
+            return this;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return 1;
+        }
+    }
+}
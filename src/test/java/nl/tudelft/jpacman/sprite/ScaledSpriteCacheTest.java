@@ -0,0 +1,81 @@
+package nl.tudelft.jpacman.sprite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the scaled copies kept by a {@link ScaledSpriteCache}.
+ *
+ * @author Jeroen Roosen
+ */
+class ScaledSpriteCacheTest {
+
+    /**
+     * The size the sprites are drawn at.
+     */
+    private static final int SIZE = 24;
+
+    /**
+     * The cache under test.
+     */
+    private final ScaledSpriteCache cache = new ScaledSpriteCache();
+
+    /**
+     * The image of all sprites.
+     */
+    private final Image image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+
+    /**
+     * A sprite is scaled once and then drawn from the same copy.
+     */
+    @Test
+    void reusesCopy() {
+        ImageSprite sprite = new ImageSprite(image, cache);
+        Image copy = cache.get(sprite, image, SIZE, SIZE);
+
+        assertThat(copy.getWidth(null)).isEqualTo(SIZE);
+        assertThat(copy.getHeight(null)).isEqualTo(SIZE);
+        assertThat(cache.get(sprite, image, SIZE, SIZE)).isSameAs(copy);
+    }
+
+    /**
+     * Beyond the capacity the least recently drawn copy is evicted, and
+     * drawing a copy keeps it.
+     */
+    @Test
+    void evictsLeastRecentlyDrawn() {
+        ImageSprite eldest = new ImageSprite(image, cache);
+        ImageSprite drawn = new ImageSprite(image, cache);
+        Image eldestCopy = cache.get(eldest, image, SIZE, SIZE);
+        Image drawnCopy = cache.get(drawn, image, SIZE, SIZE);
+        for (int i = 2; i < ScaledSpriteCache.CAPACITY; i++) {
+            cache.get(new ImageSprite(image, cache), image, SIZE, SIZE);
+        }
+        assertThat(cache.get(drawn, image, SIZE, SIZE)).isSameAs(drawnCopy);
+
+        cache.get(new ImageSprite(image, cache), image, SIZE, SIZE);
+
+        assertThat(cache.get(drawn, image, SIZE, SIZE)).isSameAs(drawnCopy);
+        assertThat(cache.get(eldest, image, SIZE, SIZE)).isNotSameAs(eldestCopy);
+    }
+
+    /**
+     * Drawing at another size evicts all copies of the previous size.
+     */
+    @Test
+    void clearsOnResize() {
+        ImageSprite sprite = new ImageSprite(image, cache);
+        Image copy = cache.get(sprite, image, SIZE, SIZE);
+
+        Image larger = cache.get(sprite, image, SIZE * 2, SIZE * 2);
+        assertThat(larger.getWidth(null)).isEqualTo(SIZE * 2);
+
+        Image again = cache.get(sprite, image, SIZE, SIZE);
+        assertThat(again).isNotSameAs(copy);
+        assertThat(again.getWidth(null)).isEqualTo(SIZE);
+    }
+}
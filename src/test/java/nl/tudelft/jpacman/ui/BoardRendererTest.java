@@ -0,0 +1,224 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import javax.swing.JPanel;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.VirtualNpcScheduler;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.FrameClock;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the squares a {@link BoardRenderer} redraws between two
+ * snapshots published by a level. The player is drawn with an animated
+ * sprite, the pellets with a static one.
+ *
+ * @author Jeroen Roosen
+ */
+class BoardRendererTest {
+
+    /**
+     * The size of a square in the rendered images, in pixels.
+     */
+    private static final int CELL = 16;
+
+    /**
+     * The level whose snapshots are drawn.
+     */
+    private Level level;
+
+    /**
+     * The player on the level.
+     */
+    private Player player;
+
+    /**
+     * The renderer under test.
+     */
+    private BoardRenderer renderer;
+
+    /**
+     * Creates a started level with a player left of two pellets.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new HeadlessSprites();
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator(), new VirtualNpcScheduler());
+        level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(Arrays.asList(
+            "#######",
+            "#P .. #",
+            "#######"));
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+        renderer = new BoardRenderer(level.getBoard(), level::getSnapshot, null,
+            new FrameClock(0L));
+    }
+
+    /**
+     * The first frame draws every occupied square, and later frames of the
+     * same snapshot only the squares with animated occupants.
+     */
+    @Test
+    void redrawsOnlyAnimatedSquaresOfSameSnapshot() {
+        assertThat(dirtyColumns()).containsExactly(1, 3, 4);
+        assertThat(dirtyColumns()).containsExactly(1);
+    }
+
+    /**
+     * A move redraws the square the player left and the square it entered,
+     * but not the squares of the pellets.
+     */
+    @Test
+    void redrawsVacatedAndEnteredSquares() {
+        dirtyColumns();
+
+        level.move(player, Direction.EAST);
+
+        assertThat(dirtyColumns()).containsExactly(1, 2);
+    }
+
+    /**
+     * Eating a pellet redraws the square of the pellet, which now shows the
+     * player instead.
+     */
+    @Test
+    void redrawsSquareOfEatenPellet() {
+        level.move(player, Direction.EAST);
+        dirtyColumns();
+
+        level.move(player, Direction.EAST);
+
+        assertThat(dirtyColumns()).containsExactly(2, 3);
+        assertThat(level.remainingPellets()).isEqualTo(1);
+    }
+
+    /**
+     * A square the player left shows exactly what it showed before anything
+     * was drawn on it, even though the ground and the missing background are
+     * transparent.
+     */
+    @Test
+    void erasesVacatedSquare() {
+        PacManSprites sprites = new PacManSprites(new FrameClock(0L));
+        sprites.setNameFileWall("/sprite/Forest.png");
+        sprites.setNameFilePellet("/sprite/pellet.png");
+        Level moving = parse(sprites, "#P #");
+        Player mover = new PlayerFactory(sprites).createPacMan();
+        moving.registerPlayer(mover);
+        moving.start();
+        BoardRenderer movingRenderer = rendererOf(moving);
+        BufferedImage before = render(movingRenderer);
+        moving.move(mover, Direction.EAST);
+        BufferedImage after = render(movingRenderer);
+
+        Level empty = parse(sprites, "# P#");
+        empty.registerPlayer(new PlayerFactory(sprites).createPacMan());
+        BufferedImage expected = render(rendererOf(empty));
+
+        assertThat(samePixels(before, expected)).isFalse();
+        assertThat(samePixels(after, expected)).isTrue();
+    }
+
+    /**
+     * Parses a level of a single row between two rows of walls.
+     *
+     * @param sprites
+     *            The sprites of the level.
+     * @param row
+     *            The row of the map.
+     * @return The level.
+     */
+    private static Level parse(PacManSprites sprites, String row) {
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator(), new VirtualNpcScheduler());
+        return new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(Arrays.asList(
+            "####", row, "####"));
+    }
+
+    /**
+     * Creates a renderer of a level without a background image.
+     *
+     * @param target
+     *            The level to render.
+     * @return The renderer.
+     */
+    private static BoardRenderer rendererOf(Level target) {
+        return new BoardRenderer(target.getBoard(), target::getSnapshot,
+            new BackgroundCache("no-such-background.png"), new FrameClock(0L));
+    }
+
+    /**
+     * Renders the latest snapshot into a new, transparent image.
+     *
+     * @param target
+     *            The renderer to render with.
+     * @return The image rendered into.
+     */
+    private static BufferedImage render(BoardRenderer target) {
+        BufferedImage image = new BufferedImage(CELL * 4, CELL * 3, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = image.getGraphics();
+        target.render(graphics, new JPanel(), image.getWidth(), image.getHeight());
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Determines whether the square the player started on looks the same in
+     * two images.
+     *
+     * @param actual
+     *            The first image.
+     * @param expected
+     *            The second image.
+     * @return <code>true</code> iff all pixels of the square are equal.
+     */
+    private static boolean samePixels(BufferedImage actual, BufferedImage expected) {
+        for (int x = CELL; x < 2 * CELL; x++) {
+            for (int y = CELL; y < 2 * CELL; y++) {
+                if (actual.getRGB(x, y) != expected.getRGB(x, y)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the squares to redraw for the latest snapshot of the level.
+     *
+     * @return The columns of the squares, all of which are on the row of the
+     *         player.
+     */
+    private List<Integer> dirtyColumns() {
+        Board board = level.getBoard();
+        BitSet dirty = renderer.findDirty(level.getSnapshot());
+        List<Integer> columns = new ArrayList<>();
+        for (int index = dirty.nextSetBit(0); index >= 0; index = dirty.nextSetBit(index + 1)) {
+            assertThat(index % board.getHeight()).isEqualTo(1);
+            columns.add(index / board.getHeight());
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,68 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the statistics kept by {@link FrameMetrics}.
+ *
+ * @author Jeroen Roosen
+ */
+class FrameMetricsTest {
+
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The statistics under test.
+     */
+    private final FrameMetrics metrics = new FrameMetrics();
+
+    /**
+     * Without frames, all statistics are zero.
+     */
+    @Test
+    void emptyMetrics() {
+        assertThat(metrics.getFrameCount()).isZero();
+        assertThat(metrics.getDroppedFrames()).isZero();
+        assertThat(metrics.getFailedFrames()).isZero();
+        assertThat(metrics.getAverageFrameTime()).isZero();
+        assertThat(metrics.getAverageRenderTime()).isZero();
+    }
+
+    /**
+     * The first frame has no frame time, so frame times are averaged over
+     * one frame less than render times.
+     */
+    @Test
+    void averagesFrameAndRenderTimes() {
+        metrics.record(0L, 2 * MILLIS, 0);
+        metrics.record(10 * MILLIS, 4 * MILLIS, 0);
+        metrics.record(20 * MILLIS, 6 * MILLIS, 0);
+
+        assertThat(metrics.getFrameCount()).isEqualTo(3L);
+        assertThat(metrics.getAverageFrameTime()).isEqualTo(15.0);
+        assertThat(metrics.getMaxFrameTime()).isEqualTo(20.0);
+        assertThat(metrics.getAverageRenderTime()).isEqualTo(4.0);
+        assertThat(metrics.getMaxRenderTime()).isEqualTo(6.0);
+    }
+
+    /**
+     * Dropped and failed frames are summed.
+     */
+    @Test
+    void countsDroppedAndFailedFrames() {
+        metrics.record(0L, MILLIS, 2);
+        metrics.record(MILLIS, MILLIS, 3);
+        metrics.recordFailure();
+
+        assertThat(metrics.getDroppedFrames()).isEqualTo(5L);
+        assertThat(metrics.getFailedFrames()).isEqualTo(1L);
+        assertThat(metrics.getFrameCount()).isEqualTo(2L);
+    }
+}
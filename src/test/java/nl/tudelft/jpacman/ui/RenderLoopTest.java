@@ -0,0 +1,120 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the pacing of a {@link RenderLoop} and the statistics it
+ * records, drawing frames that only count themselves.
+ *
+ * @author Jeroen Roosen
+ */
+class RenderLoopTest {
+
+    /**
+     * The frame rate of the loops, giving a frame every 10 milliseconds.
+     */
+    private static final int FPS = 100;
+
+    /**
+     * The number of frames after which a loop stops itself.
+     */
+    private static final int FRAMES = 5;
+
+    /**
+     * The statistics of the loop under test.
+     */
+    private final FrameMetrics metrics = new FrameMetrics();
+
+    /**
+     * The frames drawn so far.
+     */
+    private final AtomicInteger drawn = new AtomicInteger();
+
+    /**
+     * The loop under test.
+     */
+    private RenderLoop loop;
+
+    /**
+     * Frames are started no faster than the target frame rate, and every
+     * frame is recorded.
+     */
+    @Test
+    void pacesFrames() {
+        runLoop(() -> { });
+        long period = TimeUnit.SECONDS.toMillis(1) / FPS;
+
+        assertThat(metrics.getFrameCount()).isEqualTo((long) FRAMES);
+        assertThat(metrics.getAverageFrameTime()).isGreaterThanOrEqualTo(period * 0.9);
+        assertThat(metrics.getMaxRenderTime()).isLessThan(metrics.getMaxFrameTime());
+        assertThat(metrics.getFailedFrames()).isZero();
+    }
+
+    /**
+     * A frame that takes longer than several periods drops the frames whose
+     * deadlines passed meanwhile.
+     */
+    @Test
+    void dropsLateFrames() {
+        runLoop(() -> {
+            if (drawn.get() == 0) {
+                sleep(35L);
+            }
+        });
+
+        assertThat(metrics.getDroppedFrames()).isGreaterThanOrEqualTo(2L);
+        assertThat(metrics.getMaxRenderTime()).isGreaterThanOrEqualTo(35.0);
+    }
+
+    /**
+     * A frame that fails is counted, and the loop carries on drawing.
+     */
+    @Test
+    void survivesFailingFrames() {
+        runLoop(() -> {
+            if (drawn.get() == 1) {
+                drawn.incrementAndGet();
+                throw new IllegalArgumentException("broken frame");
+            }
+        });
+
+        assertThat(metrics.getFailedFrames()).isEqualTo(1L);
+        assertThat(metrics.getFrameCount()).isEqualTo((long) FRAMES);
+    }
+
+    /**
+     * Runs a loop on the current thread until {@link #FRAMES} frames have
+     * been drawn.
+     *
+     * @param frame
+     *            The work of a frame, before it counts itself.
+     */
+    private void runLoop(Runnable frame) {
+        loop = new RenderLoop(FPS, () -> {
+            frame.run();
+            if (drawn.incrementAndGet() >= FRAMES) {
+                loop.stop();
+            }
+        }, metrics);
+        loop.run();
+    }
+
+    /**
+     * Sleeps without being interrupted.
+     *
+     * @param millis
+     *            The time to sleep in milliseconds.
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}